@@ -1,12 +1,15 @@
 package org.example.musiclibrary;
 
+import org.example.musiclibrary.analytics.CatalogSnapshot;
 import org.example.musiclibrary.controller.MusicLibraryController;
 import org.example.musiclibrary.model.*;
 import org.example.musiclibrary.repository.*;
 import org.example.musiclibrary.service.*;
 import org.example.musiclibrary.utils.*;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main application demonstrating all OOP principles, SOLID architecture,
@@ -33,16 +36,27 @@ public class Main {
         System.out.println("║     Demonstrating OOP, SOLID, and Advanced Java Features     ║");
         System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
 
+        CachingMediaRepository mediaCache = null;
+
         try {
 
             // Setup dependency injection (DIP)
-            MediaRepository mediaRepo = new MediaRepositoryImpl();
+            MediaRepositoryImpl mediaRepoImpl = new MediaRepositoryImpl();
+            MediaRepository mediaRepo = mediaRepoImpl;
+            // Opt-in read-through cache: -Dmusiclibrary.cache=true [-Dmusiclibrary.cache.size=N -Dmusiclibrary.cache.ttlSeconds=S]
+            if (Boolean.getBoolean("musiclibrary.cache")) {
+                mediaCache = new CachingMediaRepository(mediaRepo,
+                        Integer.getInteger("musiclibrary.cache.size", 10_000),
+                        Long.getLong("musiclibrary.cache.ttlSeconds", 0L), TimeUnit.SECONDS);
+                mediaRepo = mediaCache;
+            }
             PlaylistRepository playlistRepo = new PlaylistRepositoryImpl();
 
             MediaService mediaService = new MediaServiceImpl(mediaRepo);
-            PlaylistService playlistService = new PlaylistServiceImpl(playlistRepo, mediaRepo);
+            PlaylistService playlistService = new PlaylistServiceImpl(playlistRepo);
+            StatisticsService statisticsService = new StatisticsServiceImpl(new StatisticsRepositoryImpl());
 
-            MusicLibraryController controller = new MusicLibraryController(mediaService, playlistService);
+            MusicLibraryController controller = new MusicLibraryController(mediaService, playlistService, statisticsService);
 
             // Run all demonstrations
             System.out.println("\n" + "═".repeat(60));
@@ -80,6 +94,22 @@ public class Main {
             System.out.println("═".repeat(60));
             demonstrateInterfaceFeatures(controller);
 
+            System.out.println();
+            mediaRepoImpl.getStringPoolStats().forEach(System.out::println);
+            // Opt-in catalog snapshot: -Dmusiclibrary.snapshot=true scans the whole media table into heap
+            if (Boolean.getBoolean("musiclibrary.snapshot")) {
+                System.out.println(CatalogSnapshot.build(mediaRepo));
+            }
+
+            // Export a memory-mapped catalog segment when -Dmusiclibrary.segment=<file> is set
+            String segmentFile = System.getProperty("musiclibrary.segment");
+            if (segmentFile != null) {
+                new CatalogSegmentWriter(mediaRepo, playlistRepo).writeTo(Path.of(segmentFile));
+                try (CatalogSegment segment = CatalogSegment.open(Path.of(segmentFile))) {
+                    System.out.println(new SegmentMediaRepository(segment));
+                }
+            }
+
             System.out.println("\n\n╔══════════════════════════════════════════════════════════════╗");
             System.out.println("║                 ALL DEMONSTRATIONS COMPLETED                 ║");
             System.out.println("╚══════════════════════════════════════════════════════════════╝");
@@ -87,6 +117,9 @@ public class Main {
         } catch (Exception e) {
             System.err.println("Unexpected error: " + e.getMessage());
         } finally {
+            if (mediaCache != null) {
+                System.out.println(mediaCache);
+            }
             DatabaseConnection.closeConnection();
         }
     }
@@ -241,6 +274,22 @@ public class Main {
         List<Media> searchResults = SortingUtils.searchByName(allMedia, "the");
         System.out.println("Media containing 'the': " + searchResults.size() + " items");
         searchResults.forEach(media -> System.out.println("  • " + media.getName()));
+
+        System.out.println("\n6. Criteria Query (filtered and sorted in SQL):");
+        MediaCriteria longestSongs = MediaCriteria.builder()
+                .type(Media.MediaType.SONG)
+                .minDuration(240)
+                .sortBy(MediaCriteria.SortKey.DURATION, MediaCriteria.Direction.DESC)
+                .limit(5)
+                .build();
+        List<Media> criteriaResults = controller.findMedia(longestSongs);
+        System.out.println("Longest songs over 4 minutes: " + criteriaResults.size() + " items");
+        criteriaResults.forEach(media ->
+                System.out.println("  • " + media.getName() + " - " + media.getFormattedDuration())
+        );
+
+        System.out.println("\n7. Library Statistics (aggregated in SQL, no rows loaded):");
+        controller.displayStatistics();
     }
 
     /**
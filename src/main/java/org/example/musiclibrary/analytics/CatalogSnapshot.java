@@ -0,0 +1,405 @@
+package org.example.musiclibrary.analytics;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.CreatorStats;
+import org.example.musiclibrary.model.GroupStats;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.PricedItem;
+import org.example.musiclibrary.model.Song;
+import org.example.musiclibrary.repository.ReadOnlyMediaRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable, column-oriented copy of the media table for in-memory analytics.
+ *
+ * Each attribute is a primitive array indexed by row, so aggregates are tight loops over
+ * contiguous memory instead of one pointer chase per Media object (as in SortingUtils).
+ * Creators and genres are dictionary-encoded: a row stores an int code into a table of
+ * distinct values, and filters compare codes instead of strings.
+ *
+ * Queries work on selections: sorted arrays of row numbers. Start from {@link #all()},
+ * narrow with the where* filters and pass the result to an aggregate. Filters are written
+ * branch-free so the JIT can compile them to conditional moves. The snapshot does not
+ * see later catalog changes; build a new one to refresh.
+ */
+public class CatalogSnapshot {
+
+    /**
+     * Dictionary code of a missing value (e.g. the genre of a podcast)
+     */
+    public static final int NO_VALUE = -1;
+
+    private static final Media.MediaType[] TYPES = Media.MediaType.values();
+
+    private final int size;
+    private final int[] ids;
+    private final int[] durations;
+    private final byte[] typeCodes;
+    private final long[] priceCents;
+    private final int[] creatorCodes;
+    private final int[] genreCodes;
+    private final String[] creatorDictionary;
+    private final String[] genreDictionary;
+    // Lower-cased value -> codes of every spelling of it ("AC/DC", "Ac/Dc"), for case-insensitive filters
+    private final Map<String, int[]> creatorLookup;
+    private final Map<String, int[]> genreLookup;
+
+    private CatalogSnapshot(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.durations = Arrays.copyOf(builder.durations, size);
+        this.typeCodes = Arrays.copyOf(builder.typeCodes, size);
+        this.priceCents = Arrays.copyOf(builder.priceCents, size);
+        this.creatorCodes = Arrays.copyOf(builder.creatorCodes, size);
+        this.genreCodes = Arrays.copyOf(builder.genreCodes, size);
+        this.creatorDictionary = builder.creators.values.toArray(new String[0]);
+        this.genreDictionary = builder.genres.values.toArray(new String[0]);
+        this.creatorLookup = lookupOf(creatorDictionary);
+        this.genreLookup = lookupOf(genreDictionary);
+    }
+
+    /**
+     * Build a snapshot from a streaming scan of the repository (no List of all media is held)
+     */
+    public static CatalogSnapshot build(ReadOnlyMediaRepository mediaRepository) throws DatabaseOperationException {
+        Builder builder = new Builder();
+        mediaRepository.scanAll(builder::add);
+        return new CatalogSnapshot(builder);
+    }
+
+    /**
+     * Build a snapshot from media already in memory
+     */
+    public static CatalogSnapshot of(Iterable<? extends Media> media) {
+        Builder builder = new Builder();
+        media.forEach(builder::add);
+        return new CatalogSnapshot(builder);
+    }
+
+    // ==================== SELECTIONS ====================
+
+    /**
+     * Selection of every row
+     */
+    public int[] all() {
+        int[] selection = new int[size];
+        for (int row = 0; row < size; row++) {
+            selection[row] = row;
+        }
+        return selection;
+    }
+
+    public int[] whereType(int[] selection, Media.MediaType type) {
+        byte code = (byte) type.ordinal();
+        int[] out = new int[selection.length];
+        int n = 0;
+        for (int row : selection) {
+            out[n] = row;
+            n += typeCodes[row] == code ? 1 : 0;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Rows with minDuration <= duration <= maxDuration (seconds)
+     */
+    public int[] whereDurationBetween(int[] selection, int minDuration, int maxDuration) {
+        int[] out = new int[selection.length];
+        int n = 0;
+        for (int row : selection) {
+            int duration = durations[row];
+            out[n] = row;
+            n += duration >= minDuration & duration <= maxDuration ? 1 : 0;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Priced rows with minCents <= price <= maxCents; unpriced media never match
+     */
+    public int[] wherePriceBetween(int[] selection, long minCents, long maxCents) {
+        byte song = (byte) Media.MediaType.SONG.ordinal();
+        int[] out = new int[selection.length];
+        int n = 0;
+        for (int row : selection) {
+            long price = priceCents[row];
+            out[n] = row;
+            n += typeCodes[row] == song & price >= minCents & price <= maxCents ? 1 : 0;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Rows by the given creator (case-insensitive); resolved to codes once, then compared as ints
+     */
+    public int[] whereCreator(int[] selection, String creator) {
+        return whereCodes(selection, creatorCodes, creatorLookup, creator, creatorDictionary.length);
+    }
+
+    /**
+     * Rows in the given genre (case-insensitive)
+     */
+    public int[] whereGenre(int[] selection, String genre) {
+        return whereCodes(selection, genreCodes, genreLookup, genre, genreDictionary.length);
+    }
+
+    // ==================== AGGREGATES ====================
+
+    public long sumDuration(int[] selection) {
+        long total = 0;
+        for (int row : selection) {
+            total += durations[row];
+        }
+        return total;
+    }
+
+    /**
+     * Total price of the selected rows in cents (unpriced media count as 0)
+     */
+    public long sumPriceCents(int[] selection) {
+        long total = 0;
+        for (int row : selection) {
+            total += priceCents[row];
+        }
+        return total;
+    }
+
+    /**
+     * Counts of durations in buckets of bucketSeconds; the last bucket also holds everything longer
+     */
+    public long[] durationHistogram(int[] selection, int bucketSeconds, int bucketCount) {
+        if (bucketSeconds <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket width and count must be greater than 0");
+        }
+        long[] histogram = new long[bucketCount];
+        int last = bucketCount - 1;
+        for (int row : selection) {
+            histogram[Math.min(Math.max(durations[row], 0) / bucketSeconds, last)]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Count and duration per media type, in enum order
+     */
+    public List<GroupStats> groupByType(int[] selection) {
+        return groupStats(selection, typeCodesAsInts(selection), TYPES.length, code -> TYPES[code].name());
+    }
+
+    /**
+     * Count and duration per genre, largest first; media without a genre are left out
+     */
+    public List<GroupStats> groupByGenre(int[] selection) {
+        int[] codes = new int[selection.length];
+        for (int i = 0; i < selection.length; i++) {
+            codes[i] = genreCodes[selection[i]];
+        }
+        List<GroupStats> stats = groupStats(selection, codes, genreDictionary.length, code -> genreDictionary[code]);
+        stats.sort(Comparator.comparingLong(GroupStats::count).reversed().thenComparing(GroupStats::key));
+        return stats;
+    }
+
+    /**
+     * Creators with the most selected media, ties broken by name
+     */
+    public List<CreatorStats> topCreators(int[] selection, int limit) {
+        long[] counts = new long[creatorDictionary.length];
+        long[] totals = new long[creatorDictionary.length];
+        for (int row : selection) {
+            int code = creatorCodes[row];
+            if (code != NO_VALUE) {
+                counts[code]++;
+                totals[code] += durations[row];
+            }
+        }
+
+        List<CreatorStats> stats = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                stats.add(new CreatorStats(creatorDictionary[code], counts[code], totals[code]));
+            }
+        }
+        stats.sort(Comparator.comparingLong(CreatorStats::mediaCount).reversed().thenComparing(CreatorStats::creator));
+        return stats.size() <= limit ? stats : new ArrayList<>(stats.subList(0, Math.max(limit, 0)));
+    }
+
+    /**
+     * Media ids of the selected rows, in scan order
+     */
+    public int[] idsOf(int[] selection) {
+        int[] result = new int[selection.length];
+        for (int i = 0; i < selection.length; i++) {
+            result[i] = ids[selection[i]];
+        }
+        return result;
+    }
+
+    // ==================== METADATA ====================
+
+    public int size() {
+        return size;
+    }
+
+    public int getCreatorCount() {
+        return creatorDictionary.length;
+    }
+
+    public int getGenreCount() {
+        return genreDictionary.length;
+    }
+
+    /**
+     * Approximate heap used by the columns and dictionaries (lookup maps excluded)
+     */
+    public long getMemoryBytes() {
+        long columns = 16L * 6 + (long) size * (Integer.BYTES * 4 + Byte.BYTES + Long.BYTES);
+        return columns + dictionaryBytes(creatorDictionary) + dictionaryBytes(genreDictionary);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CatalogSnapshot: %d rows, %d creators, %d genres, ~%d KB",
+                size, creatorDictionary.length, genreDictionary.length, getMemoryBytes() / 1024);
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Rows whose code is one of the spellings of the value, like LOWER(column) = LOWER(?) in SQL
+     */
+    private static int[] whereCodes(int[] selection, int[] column, Map<String, int[]> lookup, String value,
+                                    int dictionarySize) {
+        int[] codes = value == null ? null : lookup.get(value.toLowerCase(Locale.ROOT));
+        if (codes == null) {
+            return new int[0];
+        }
+        // Mask indexed by code + 1 so NO_VALUE rows land on the always-false slot 0
+        boolean[] wanted = new boolean[dictionarySize + 1];
+        for (int code : codes) {
+            wanted[code + 1] = true;
+        }
+
+        int[] out = new int[selection.length];
+        int n = 0;
+        for (int row : selection) {
+            out[n] = row;
+            n += wanted[column[row] + 1] ? 1 : 0;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private int[] typeCodesAsInts(int[] selection) {
+        int[] codes = new int[selection.length];
+        for (int i = 0; i < selection.length; i++) {
+            codes[i] = typeCodes[selection[i]];
+        }
+        return codes;
+    }
+
+    /**
+     * Count and duration per code; codes[i] belongs to selection[i]
+     */
+    private List<GroupStats> groupStats(int[] selection, int[] codes, int codeCount,
+                                        IntFunction<String> keyOf) {
+        long[] counts = new long[codeCount];
+        long[] totals = new long[codeCount];
+        for (int i = 0; i < selection.length; i++) {
+            int code = codes[i];
+            if (code != NO_VALUE) {
+                counts[code]++;
+                totals[code] += durations[selection[i]];
+            }
+        }
+
+        List<GroupStats> stats = new ArrayList<>();
+        for (int code = 0; code < codeCount; code++) {
+            if (counts[code] > 0) {
+                stats.add(new GroupStats(keyOf.apply(code), counts[code], totals[code],
+                        (double) totals[code] / counts[code]));
+            }
+        }
+        return stats;
+    }
+
+    private static Map<String, int[]> lookupOf(String[] dictionary) {
+        Map<String, int[]> lookup = new HashMap<>(dictionary.length * 2);
+        for (int code = 0; code < dictionary.length; code++) {
+            int newCode = code;
+            lookup.merge(dictionary[code].toLowerCase(Locale.ROOT), new int[]{code}, (codes, ignored) -> {
+                int[] grown = Arrays.copyOf(codes, codes.length + 1);
+                grown[codes.length] = newCode;
+                return grown;
+            });
+        }
+        return lookup;
+    }
+
+    private static long dictionaryBytes(String[] dictionary) {
+        long bytes = 16L + (long) Integer.BYTES * dictionary.length;
+        for (String value : dictionary) {
+            bytes += 24 + ((16 + value.length() + 7) & ~7L);
+        }
+        return bytes;
+    }
+
+    /**
+     * Growable columns filled during the scan
+     */
+    private static final class Builder {
+        private int size;
+        private int[] ids = new int[1024];
+        private int[] durations = new int[1024];
+        private byte[] typeCodes = new byte[1024];
+        private long[] priceCents = new long[1024];
+        private int[] creatorCodes = new int[1024];
+        private int[] genreCodes = new int[1024];
+        private final Dictionary creators = new Dictionary();
+        private final Dictionary genres = new Dictionary();
+
+        private void add(Media media) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                durations = Arrays.copyOf(durations, capacity);
+                typeCodes = Arrays.copyOf(typeCodes, capacity);
+                priceCents = Arrays.copyOf(priceCents, capacity);
+                creatorCodes = Arrays.copyOf(creatorCodes, capacity);
+                genreCodes = Arrays.copyOf(genreCodes, capacity);
+            }
+
+            ids[size] = media.getId();
+            durations[size] = media.getDuration();
+            typeCodes[size] = (byte) media.getType().ordinal();
+            priceCents[size] = media instanceof PricedItem ? Math.round(((PricedItem) media).getPrice() * 100) : 0;
+            creatorCodes[size] = creators.encode(media.getCreator());
+            genreCodes[size] = media instanceof Song ? genres.encode(((Song) media).getGenre()) : NO_VALUE;
+            size++;
+        }
+    }
+
+    /**
+     * Assigns consecutive codes to distinct values in order of first appearance
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int encode(String value) {
+            if (value == null) {
+                return NO_VALUE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.musiclibrary.benchmark;
+
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.Podcast;
+import org.example.musiclibrary.model.Song;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared helpers for the micro-benchmarks: a synthetic catalog, timing and heap measurement.
+ * No database is needed, so the numbers measure only the in-memory code paths.
+ *
+ * Timings are wall-clock per call after a warm-up phase; results are folded into a sink
+ * so the JIT cannot drop the measured work.
+ */
+final class BenchmarkSupport {
+
+    static final String[] GENRES = {"Rock", "Pop", "Jazz", "Classical", "Hip-Hop", "Electronic", "Blues",
+            "Country", "Folk", "Metal", "Reggae", "Soul", "Funk", "Punk", "Latin", "Ambient"};
+    static final String[] CATEGORIES = {"Comedy", "History", "Science", "News", "Technology", "Sports"};
+    private static final String[] WORDS = {"love", "night", "river", "golden", "shadow", "electric", "summer",
+            "heart", "fire", "blue", "dream", "city", "wild", "silent", "broken", "forever", "stone", "light",
+            "ocean", "rain", "midnight", "highway", "paper", "glass", "thunder", "velvet", "echo", "storm"};
+    // Short words that real titles repeat constantly, listed first so the skewed pick favours them
+    private static final String[] COMMON_WORDS = {"the", "you", "me", "my", "of", "in", "love", "i", "a", "to",
+            "your", "on", "and", "baby", "night", "heart", "all", "don't", "go", "be"};
+
+    private static long sink;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Deterministic catalog: 80% songs, names from a small vocabulary, creators with a long tail.
+     * Every name ends in its id, so names are unique.
+     */
+    static List<Media> syntheticCatalog(int size, int creatorCount, long seed) {
+        return catalog(size, creatorCount, seed,
+                (random, id) -> WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id);
+    }
+
+    /**
+     * Like syntheticCatalog, but names are 1 to 4 words with no unique suffix, skewed towards common
+     * words as in real catalogs: many titles share words or repeat outright ("Love", "My Love")
+     */
+    static List<Media> repeatedWordsCatalog(int size, int creatorCount, long seed) {
+        String[] vocabulary = new String[COMMON_WORDS.length + WORDS.length];
+        System.arraycopy(COMMON_WORDS, 0, vocabulary, 0, COMMON_WORDS.length);
+        System.arraycopy(WORDS, 0, vocabulary, COMMON_WORDS.length, WORDS.length);
+        return catalog(size, creatorCount, seed, (random, id) -> {
+            StringBuilder name = new StringBuilder();
+            int words = 1 + random.nextInt(4);
+            for (int word = 0; word < words; word++) {
+                double skew = random.nextDouble();
+                name.append(word == 0 ? "" : " ").append(vocabulary[(int) (skew * skew * vocabulary.length)]);
+            }
+            return name.toString();
+        });
+    }
+
+    private static List<Media> catalog(int size, int creatorCount, long seed, BiFunction<Random, Integer, String> names) {
+        Random random = new Random(seed);
+        List<Media> catalog = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            String name = names.apply(random, id);
+            // Squaring skews popularity towards low creator numbers
+            double skew = random.nextDouble();
+            String creator = "Artist " + (int) (skew * skew * creatorCount);
+            if (random.nextInt(5) > 0) {
+                catalog.add(new Song(id, name, 60 + random.nextInt(540), creator, "Album " + random.nextInt(size / 10 + 1),
+                        GENRES[random.nextInt(GENRES.length)], 0.49 + random.nextInt(5) * 0.25));
+            } else {
+                catalog.add(new Podcast(id, name, 600 + random.nextInt(10_200), creator, creator,
+                        1 + random.nextInt(500), CATEGORIES[random.nextInt(CATEGORIES.length)]));
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Average nanoseconds per call
+     */
+    static double nanosPerCall(LongSupplier call, int warmup, int iterations) {
+        for (int i = 0; i < warmup; i++) {
+            sink += call.getAsLong();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += call.getAsLong();
+        }
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+
+    /**
+     * Latency of each call, sorted ascending (for percentiles)
+     */
+    static long[] latencies(LongSupplier[] calls, int warmupRounds) {
+        for (int round = 0; round < warmupRounds; round++) {
+            for (LongSupplier call : calls) {
+                sink += call.getAsLong();
+            }
+        }
+        long[] nanos = new long[calls.length];
+        for (int i = 0; i < calls.length; i++) {
+            long start = System.nanoTime();
+            sink += calls[i].getAsLong();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Heap in use after a few GC requests; differences between calls approximate retained size
+     */
+    static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    /**
+     * Print the sink so the measured results are observably used
+     */
+    static void printSink() {
+        System.out.println("(checksum " + sink + ")");
+    }
+}
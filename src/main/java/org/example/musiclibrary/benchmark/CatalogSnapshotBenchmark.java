@@ -0,0 +1,71 @@
+package org.example.musiclibrary.benchmark;
+
+import org.example.musiclibrary.analytics.CatalogSnapshot;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.utils.SortingUtils;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Compares CatalogSnapshot with the List&lt;Media&gt; based SortingUtils equivalents:
+ * retained heap and scan throughput for a total, a type count and a creator filter.
+ *
+ * Run after compiling:
+ * <pre>
+ * java -Xmx4g -cp target/classes org.example.musiclibrary.benchmark.CatalogSnapshotBenchmark [rows] [iterations]
+ * </pre>
+ */
+public class CatalogSnapshotBenchmark {
+
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final int DEFAULT_ITERATIONS = 50;
+    private static final int CREATORS = 50_000;
+
+    public static void main(String[] args) {
+        int rows = BenchmarkSupport.intArg(args, 0, DEFAULT_ROWS);
+        int iterations = BenchmarkSupport.intArg(args, 1, DEFAULT_ITERATIONS);
+        int warmup = Math.max(5, iterations / 2);
+
+        System.out.printf("CatalogSnapshot vs SortingUtils: %,d rows, %d iterations%n", rows, iterations);
+
+        long baseline = BenchmarkSupport.usedHeapAfterGc();
+        List<Media> catalog = BenchmarkSupport.syntheticCatalog(rows, CREATORS, 42);
+        long listBytes = BenchmarkSupport.usedHeapAfterGc() - baseline;
+
+        CatalogSnapshot snapshot = CatalogSnapshot.of(catalog);
+        long snapshotBytes = BenchmarkSupport.usedHeapAfterGc() - baseline - listBytes;
+
+        System.out.println("\nRetained heap:");
+        System.out.printf("  List<Media>     : %,12d bytes (%.1f bytes/row)%n", listBytes, (double) listBytes / rows);
+        System.out.printf("  CatalogSnapshot : %,12d bytes (%.1f bytes/row, estimate %,d)%n",
+                snapshotBytes, (double) snapshotBytes / rows, snapshot.getMemoryBytes());
+
+        int[] all = snapshot.all();
+        String creator = "Artist 7";
+
+        System.out.println("\nScan throughput (million rows/s, higher is better):");
+        compare("total duration", rows, warmup, iterations,
+                () -> SortingUtils.getTotalDuration(catalog),
+                () -> snapshot.sumDuration(all));
+        compare("count songs", rows, warmup, iterations,
+                () -> SortingUtils.countByType(catalog, Media.MediaType.SONG),
+                () -> snapshot.whereType(all, Media.MediaType.SONG).length);
+        compare("filter by creator", rows, warmup, iterations,
+                () -> SortingUtils.filterByCreator(catalog, creator).size(),
+                () -> snapshot.whereCreator(all, creator).length);
+
+        BenchmarkSupport.printSink();
+    }
+
+    private static void compare(String label, int rows, int warmup, int iterations,
+                                LongSupplier sortingUtils, LongSupplier columnar) {
+        if (sortingUtils.getAsLong() != columnar.getAsLong()) {
+            throw new IllegalStateException("Results differ for " + label);
+        }
+        double listNanos = BenchmarkSupport.nanosPerCall(sortingUtils, warmup, iterations);
+        double columnarNanos = BenchmarkSupport.nanosPerCall(columnar, warmup, iterations);
+        System.out.printf("  %-18s SortingUtils %8.1f   CatalogSnapshot %8.1f   (%.1fx)%n", label,
+                rows / listNanos * 1000, rows / columnarNanos * 1000, listNanos / columnarNanos);
+    }
+}
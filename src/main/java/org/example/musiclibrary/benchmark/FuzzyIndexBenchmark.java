@@ -0,0 +1,127 @@
+package org.example.musiclibrary.benchmark;
+
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.search.FuzzyIndex;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Checks the FuzzyIndex latency target: p99 under 10 ms per misspelled query on a
+ * 5M-title catalog. Queries are catalog names and creators with one or two random
+ * typos (substitution, deletion or insertion), searched with the default edit budget.
+ * Two catalogs are measured: unique synthetic names, and names built from repeated common
+ * words, whose long trigram postings are closer to a real catalog.
+ *
+ * Run after compiling (the default catalog needs a large heap):
+ * <pre>
+ * java -Xmx16g -cp target/classes org.example.musiclibrary.benchmark.FuzzyIndexBenchmark [titles] [queries]
+ * </pre>
+ */
+public class FuzzyIndexBenchmark {
+
+    private static final int DEFAULT_TITLES = 5_000_000;
+    private static final int DEFAULT_QUERIES = 10_000;
+    private static final int CREATORS = 200_000;
+    private static final int LIMIT = 10;
+    private static final long TARGET_P99_NANOS = 10_000_000;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+
+    public static void main(String[] args) {
+        int titles = BenchmarkSupport.intArg(args, 0, DEFAULT_TITLES);
+        int queryCount = BenchmarkSupport.intArg(args, 1, DEFAULT_QUERIES);
+
+        System.out.printf("FuzzyIndex: %,d titles, %,d misspelled queries%n", titles, queryCount);
+
+        run("Unique synthetic names", () -> BenchmarkSupport.syntheticCatalog(titles, CREATORS, 42), queryCount);
+        // Shared words give long trigram postings, the realistic (and slower) case
+        run("Names with repeated words", () -> BenchmarkSupport.repeatedWordsCatalog(titles, CREATORS, 42), queryCount);
+
+        BenchmarkSupport.printSink();
+    }
+
+    /**
+     * Build the index over one catalog and report recall and latency; the catalog is dropped before timing
+     */
+    private static void run(String label, Supplier<List<Media>> catalogSupplier, int queryCount) {
+        System.out.printf("%n%s%n", label);
+        List<Media> catalog = catalogSupplier.get();
+        long buildStart = System.nanoTime();
+        FuzzyIndex index = FuzzyIndex.of(catalog);
+        System.out.printf("  built in %,d ms: %,d entries, %,d trigrams%n",
+                (System.nanoTime() - buildStart) / 1_000_000, index.getEntryCount(), index.getTrigramCount());
+
+        Random random = new Random(7);
+        String[] originals = new String[queryCount];
+        String[] queries = new String[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            Media media = catalog.get(random.nextInt(catalog.size()));
+            // Mostly titles, some creators
+            originals[i] = random.nextInt(10) < 7 ? media.getName() : media.getCreator();
+            queries[i] = misspell(originals[i], random);
+        }
+        catalog = null;
+
+        int found = 0;
+        for (int i = 0; i < queryCount; i++) {
+            if (contains(index.search(queries[i], FuzzyIndex.defaultMaxDistance(queries[i]), LIMIT), originals[i])) {
+                found++;
+            }
+        }
+
+        LongSupplier[] calls = new LongSupplier[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            String query = queries[i];
+            int maxDistance = FuzzyIndex.defaultMaxDistance(query);
+            calls[i] = () -> index.search(query, maxDistance, LIMIT).size();
+        }
+        long[] nanos = BenchmarkSupport.latencies(calls, 2);
+
+        System.out.printf("  original found in top %d: %.1f%%%n", LIMIT, 100.0 * found / queryCount);
+        System.out.println("  Latency per query (ms):");
+        System.out.printf("    p50 %.3f   p90 %.3f   p99 %.3f   max %.3f%n",
+                millis(BenchmarkSupport.percentile(nanos, 50)), millis(BenchmarkSupport.percentile(nanos, 90)),
+                millis(BenchmarkSupport.percentile(nanos, 99)), millis(nanos[nanos.length - 1]));
+
+        long p99 = BenchmarkSupport.percentile(nanos, 99);
+        System.out.printf("    target p99 < %.0f ms: %s%n", millis(TARGET_P99_NANOS),
+                p99 < TARGET_P99_NANOS ? "PASS" : "FAIL");
+    }
+
+    /**
+     * Apply as many random edits as the default budget allows (at least one), avoiding spaces
+     */
+    private static String misspell(String text, Random random) {
+        StringBuilder typo = new StringBuilder(text.toLowerCase(Locale.ROOT));
+        int edits = Math.max(1, random.nextInt(FuzzyIndex.defaultMaxDistance(text) + 1));
+        for (int edit = 0; edit < edits; edit++) {
+            int position = random.nextInt(typo.length());
+            if (typo.charAt(position) == ' ') {
+                continue;
+            }
+            char replacement = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            switch (random.nextInt(3)) {
+                case 0 -> typo.setCharAt(position, replacement);
+                case 1 -> typo.deleteCharAt(position);
+                default -> typo.insert(position, replacement);
+            }
+        }
+        return typo.toString();
+    }
+
+    private static boolean contains(List<FuzzyIndex.Match> matches, String original) {
+        for (FuzzyIndex.Match match : matches) {
+            if (match.getText().equalsIgnoreCase(original)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
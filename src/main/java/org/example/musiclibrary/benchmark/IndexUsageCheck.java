@@ -0,0 +1,92 @@
+package org.example.musiclibrary.benchmark;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.utils.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks with EXPLAIN that the case-insensitive, substring and similarity lookups of the
+ * repositories are served by the expression and trigram indexes in schema.sql. Unlike the
+ * micro-benchmarks this needs the database configured in DatabaseConnection, with the schema applied.
+ *
+ * Sequential scans are disabled for the session, so the check asks whether the planner can use
+ * the index for each query shape, not whether it prefers to on the current (possibly tiny) table.
+ * Exits with status 1 if any lookup misses its index.
+ * <pre>
+ * java -cp target/classes:postgresql.jar org.example.musiclibrary.benchmark.IndexUsageCheck
+ * </pre>
+ */
+public class IndexUsageCheck {
+
+    // Each query repeats the WHERE clause of the repository method it is named after
+    private static final List<Check> CHECKS = List.of(
+            new Check("findByCreator", "idx_media_lower_creator",
+                    "SELECT id FROM media WHERE LOWER(creator) = LOWER(?) ORDER BY name", "Queen"),
+            new Check("existsByNameAndTypeAndCreator", "idx_media_lower_key",
+                    "SELECT EXISTS (SELECT 1 FROM media WHERE LOWER(name) = LOWER(?) AND type = ? AND LOWER(creator) = LOWER(?))",
+                    "Bohemian Rhapsody", "SONG", "Queen"),
+            new Check("searchByName", "idx_media_name_trgm",
+                    "SELECT id FROM media WHERE name ILIKE ? ORDER BY name", "%rhapsody%"),
+            new Check("findSimilarCreators", "idx_media_creator_trgm",
+                    "SELECT creator FROM media WHERE creator % ? GROUP BY creator", "Quen"),
+            new Check("findSimilar (name)", "idx_media_name_trgm",
+                    "SELECT id FROM media WHERE name % ? OR creator % ?", "Bohemian Rapsody", "Bohemian Rapsody"),
+            new Check("findSimilar (creator)", "idx_media_creator_trgm",
+                    "SELECT id FROM media WHERE name % ? OR creator % ?", "Bohemian Rapsody", "Bohemian Rapsody"),
+            new Check("playlist existsByName", "uq_playlists_lower_name",
+                    "SELECT EXISTS (SELECT 1 FROM playlists WHERE LOWER(name) = LOWER(?))", "Road Trip"));
+
+    private record Check(String lookup, String index, String sql, String... params) {
+    }
+
+    public static void main(String[] args) throws DatabaseOperationException, SQLException {
+        int failures = 0;
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement session = conn.createStatement()) {
+            session.execute("SET enable_seqscan = off");
+            try {
+                System.out.println("Index usage (EXPLAIN, sequential scans disabled):");
+                for (Check check : CHECKS) {
+                    List<String> plan = explain(conn, check);
+                    boolean used = plan.stream().anyMatch(line -> line.contains(check.index()));
+                    System.out.printf("  %-32s %-26s %s%n", check.lookup(), check.index(), used ? "PASS" : "FAIL");
+                    if (!used) {
+                        failures++;
+                        plan.forEach(line -> System.out.println("      " + line));
+                    }
+                }
+            } finally {
+                // The connection goes back to the pool
+                session.execute("RESET enable_seqscan");
+            }
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static List<String> explain(Connection conn, Check check) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + check.sql())) {
+            for (int i = 0; i < check.params().length; i++) {
+                pstmt.setString(i + 1, check.params()[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+        }
+        return plan;
+    }
+}
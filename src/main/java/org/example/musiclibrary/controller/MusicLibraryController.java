@@ -2,8 +2,11 @@ package org.example.musiclibrary.controller;
 
 import org.example.musiclibrary.exception.*;
 import org.example.musiclibrary.model.*;
+import org.example.musiclibrary.repository.MediaCriteria;
+import org.example.musiclibrary.repository.Page;
 import org.example.musiclibrary.service.MediaService;
 import org.example.musiclibrary.service.PlaylistService;
+import org.example.musiclibrary.service.StatisticsService;
 
 import java.util.List;
 
@@ -17,13 +20,23 @@ public class MusicLibraryController {
 
     private final MediaService mediaService;
     private final PlaylistService playlistService;
+    private final StatisticsService statisticsService;
 
     /**
      * Constructor injection demonstrating DIP
      */
     public MusicLibraryController(MediaService mediaService, PlaylistService playlistService) {
+        this(mediaService, playlistService, null);
+    }
+
+    /**
+     * Constructor with a statistics service for the reporting operations
+     */
+    public MusicLibraryController(MediaService mediaService, PlaylistService playlistService,
+                                  StatisticsService statisticsService) {
         this.mediaService = mediaService;
         this.playlistService = playlistService;
+        this.statisticsService = statisticsService;
     }
 
     // ==================== MEDIA OPERATIONS ====================
@@ -62,6 +75,24 @@ public class MusicLibraryController {
         }
     }
 
+    public List<Media> findMedia(MediaCriteria criteria) {
+        try {
+            return mediaService.findMedia(criteria);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to find media: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    public List<MediaSummary> getAllMediaSummaries() {
+        try {
+            return mediaService.getAllMediaSummaries();
+        } catch (DatabaseOperationException e) {
+            System.err.println("✗ Failed to retrieve media: " + e.getMessage());
+            return List.of();
+        }
+    }
+
     public Media getMediaById(int id) {
         try {
             return mediaService.getMediaById(id);
@@ -111,6 +142,51 @@ public class MusicLibraryController {
         }
     }
 
+    public List<Media> fullTextSearch(String query, int limit) {
+        try {
+            return mediaService.searchMedia(query, limit);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to search media: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    public Page<Media> getMediaPage(String cursor, int pageSize) {
+        try {
+            return mediaService.getMediaPage(cursor, pageSize);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to retrieve media page: " + e.getMessage());
+            return Page.empty();
+        }
+    }
+
+    public Page<Media> getMediaByTypePage(Media.MediaType type, String cursor, int pageSize) {
+        try {
+            return mediaService.getMediaByTypePage(type, cursor, pageSize);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to retrieve media page by type: " + e.getMessage());
+            return Page.empty();
+        }
+    }
+
+    public Page<Media> getMediaByCreatorPage(String creator, String cursor, int pageSize) {
+        try {
+            return mediaService.getMediaByCreatorPage(creator, cursor, pageSize);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to retrieve media page by creator: " + e.getMessage());
+            return Page.empty();
+        }
+    }
+
+    public Page<Media> searchMediaPage(String keyword, String cursor, int pageSize) {
+        try {
+            return mediaService.searchMediaByNamePage(keyword, cursor, pageSize);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to search media: " + e.getMessage());
+            return Page.empty();
+        }
+    }
+
     // ==================== PLAYLIST OPERATIONS ====================
 
     public Playlist createPlaylist(String name, String description) {
@@ -134,6 +210,24 @@ public class MusicLibraryController {
         }
     }
 
+    public List<PlaylistSummary> getAllPlaylistSummaries() {
+        try {
+            return playlistService.getAllPlaylistSummaries();
+        } catch (DatabaseOperationException e) {
+            System.err.println("✗ Failed to retrieve playlists: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    public Page<Playlist> getPlaylistPage(String cursor, int pageSize) {
+        try {
+            return playlistService.getPlaylistPage(cursor, pageSize);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to retrieve playlist page: " + e.getMessage());
+            return Page.empty();
+        }
+    }
+
     public Playlist getPlaylistById(int id) {
         try {
             return playlistService.getPlaylistById(id);
@@ -176,19 +270,73 @@ public class MusicLibraryController {
         }
     }
 
+    // ==================== STATISTICS OPERATIONS ====================
+
+    public LibraryStats getLibraryStats() {
+        if (statisticsService == null) {
+            System.err.println("✗ Statistics are not configured");
+            return null;
+        }
+        try {
+            return statisticsService.getLibraryStats();
+        } catch (DatabaseOperationException e) {
+            System.err.println("✗ Failed to compute statistics: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public List<CreatorStats> getTopCreators(int limit) {
+        if (statisticsService == null) {
+            System.err.println("✗ Statistics are not configured");
+            return List.of();
+        }
+        try {
+            return statisticsService.getTopCreators(limit);
+        } catch (DatabaseOperationException | IllegalArgumentException e) {
+            System.err.println("✗ Failed to find top creators: " + e.getMessage());
+            return List.of();
+        }
+    }
+
     // ==================== DISPLAY OPERATIONS ====================
 
+    public void displayStatistics() {
+        System.out.println("\n╔════════════════════════════════════════════════════════╗");
+        System.out.println("║              LIBRARY STATISTICS                        ║");
+        System.out.println("╚════════════════════════════════════════════════════════╝");
+
+        LibraryStats stats = getLibraryStats();
+        if (stats == null) {
+            return;
+        }
+        System.out.println("  " + stats);
+
+        try {
+            System.out.println("\n  By type:");
+            statisticsService.getCountsByType().forEach(group -> System.out.println("    " + group));
+            System.out.println("  By genre:");
+            statisticsService.getCountsByGenre().forEach(group -> System.out.println("    " + group));
+            System.out.println("  By category:");
+            statisticsService.getCountsByCategory().forEach(group -> System.out.println("    " + group));
+        } catch (DatabaseOperationException e) {
+            System.err.println("✗ Failed to compute statistics: " + e.getMessage());
+        }
+
+        System.out.println("  Top creators:");
+        getTopCreators(5).forEach(creator -> System.out.println("    " + creator));
+    }
+
     public void displayAllMedia() {
         System.out.println("\n╔════════════════════════════════════════════════════════╗");
         System.out.println("║              ALL MEDIA IN LIBRARY                      ║");
         System.out.println("╚════════════════════════════════════════════════════════╝");
 
-        List<Media> allMedia = getAllMedia();
+        List<MediaSummary> allMedia = getAllMediaSummaries();
         if (allMedia.isEmpty()) {
             System.out.println("  (No media found)");
         } else {
-            for (Media media : allMedia) {
-                System.out.println("  [" + media.getId() + "] " + media.toString());
+            for (MediaSummary media : allMedia) {
+                System.out.println("  [" + media.id() + "] " + media.toString());
             }
         }
     }
@@ -205,12 +353,12 @@ public class MusicLibraryController {
         System.out.println("║              ALL PLAYLISTS                             ║");
         System.out.println("╚════════════════════════════════════════════════════════╝");
 
-        List<Playlist> allPlaylists = getAllPlaylists();
+        List<PlaylistSummary> allPlaylists = getAllPlaylistSummaries();
         if (allPlaylists.isEmpty()) {
             System.out.println("  (No playlists found)");
         } else {
-            for (Playlist playlist : allPlaylists) {
-                System.out.println("  [" + playlist.getId() + "] " + playlist.toString());
+            for (PlaylistSummary playlist : allPlaylists) {
+                System.out.println("  [" + playlist.id() + "] " + playlist.toString());
             }
         }
     }
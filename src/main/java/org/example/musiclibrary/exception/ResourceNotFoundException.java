@@ -1,18 +1,20 @@
 package org.example.musiclibrary.exception;
 /**
  * Exception thrown when a requested resource cannot be found.
+ * A miss is an expected outcome, so no stack trace is captured (cheap to create).
+ * Repositories report misses with Optional via findById; this is thrown at the API boundary.
  */
 public class ResourceNotFoundException extends Exception {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String resourceType, int id) {
-        super(String.format("%s with ID %d not found", resourceType, id));
+        this(String.format("%s with ID %d not found", resourceType, id));
     }
 
     public ResourceNotFoundException(String resourceType, String identifier) {
-        super(String.format("%s '%s' not found", resourceType, identifier));
+        this(String.format("%s '%s' not found", resourceType, identifier));
     }
 }
\ No newline at end of file
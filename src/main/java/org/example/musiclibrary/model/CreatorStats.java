@@ -0,0 +1,12 @@
+package org.example.musiclibrary.model;
+
+/**
+ * Number of media items and their total duration for one creator
+ */
+public record CreatorStats(String creator, long mediaCount, long totalDuration) {
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d items, %d s total", creator, mediaCount, totalDuration);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.musiclibrary.model;
+
+/**
+ * Count and duration totals for one group of media (a type, genre or category)
+ */
+public record GroupStats(String key, long count, long totalDuration, double averageDuration) {
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d items, %d s total, %.0f s average", key, count, totalDuration, averageDuration);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.musiclibrary.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Library-wide totals computed by the database in a single aggregate query.
+ * Prices only exist for songs, so the price figures cover songs only.
+ */
+public record LibraryStats(long mediaCount, long songCount, long podcastCount,
+                           long totalDuration, double averageDuration,
+                           BigDecimal totalSongPrice, BigDecimal averageSongPrice) {
+
+    public String getFormattedTotalDuration() {
+        return String.format("%dh %dm %ds", totalDuration / 3600, (totalDuration % 3600) / 60, totalDuration % 60);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d media (%d songs, %d podcasts), total %s, average %.0f s, song prices total %s / average %s",
+                mediaCount, songCount, podcastCount, getFormattedTotalDuration(), averageDuration,
+                totalSongPrice, averageSongPrice);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.musiclibrary.model;
+
+/**
+ * Read-only projection of a media row for list views: only the columns every
+ * media type shares, without the sparse Song/Podcast columns.
+ */
+public record MediaSummary(int id, String name, String creator, Media.MediaType type, int duration) {
+
+    public String getFormattedDuration() {
+        return String.format("%d:%02d", duration / 60, duration % 60);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s by %s [%s]", type, name, creator, getFormattedDuration());
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.musiclibrary.model;
+
+/**
+ * Read-only projection of a playlist for list views: item count and total
+ * duration are aggregated in SQL instead of loading the items.
+ */
+public record PlaylistSummary(int id, String name, int itemCount, int totalDuration) {
+
+    public String getFormattedTotalDuration() {
+        int hours = totalDuration / 3600;
+        int minutes = (totalDuration % 3600) / 60;
+        int seconds = totalDuration % 60;
+        if (hours > 0) {
+            return String.format("%dh %dm %ds", hours, minutes, seconds);
+        }
+        return String.format("%dm %ds", minutes, seconds);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Playlist '%s': %d items (%s)", name, itemCount, getFormattedTotalDuration());
+    }
+}
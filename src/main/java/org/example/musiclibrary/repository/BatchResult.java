@@ -0,0 +1,86 @@
+package org.example.musiclibrary.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk operation.
+ * Rows that could not be written are reported individually instead of failing the whole batch.
+ * Type parameter T represents the entity type.
+ */
+public class BatchResult<T> {
+
+    private final List<T> succeeded = new ArrayList<>();
+    private final List<Failure<T>> failures = new ArrayList<>();
+
+    public void addSuccess(T item) {
+        succeeded.add(item);
+    }
+
+    public void addFailure(T item, String reason) {
+        failures.add(new Failure<>(item, reason));
+    }
+
+    /**
+     * Append the successes and failures of another result to this one
+     */
+    public void merge(BatchResult<T> other) {
+        succeeded.addAll(other.succeeded);
+        failures.addAll(other.failures);
+    }
+
+    /**
+     * Items written successfully (for inserts, with their generated IDs set)
+     */
+    public List<T> getSucceeded() {
+        return Collections.unmodifiableList(succeeded);
+    }
+
+    public List<Failure<T>> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public int getSuccessCount() {
+        return succeeded.size();
+    }
+
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult: %d succeeded, %d failed", succeeded.size(), failures.size());
+    }
+
+    /**
+     * A single item that was rejected, with the reason
+     */
+    public static class Failure<T> {
+        private final T item;
+        private final String reason;
+
+        public Failure(T item, String reason) {
+            this.item = item;
+            this.reason = reason;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.exception.ResourceNotFoundException;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.MediaSummary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of another MediaRepository (decorator).
+ * Follows OCP: adds caching without modifying MediaRepositoryImpl.
+ *
+ * - findById/getById/getByIds/exists are served from a size-bounded LRU with an optional TTL
+ * - concurrent misses for the same ID share a single database load
+ * - update, delete and upsert through this repository invalidate the affected ID
+ * - every other method is delegated unchanged
+ *
+ * Cached Media instances are shared between callers and must be treated as read-only.
+ * Writes made directly against the database (not through this instance) are only
+ * picked up after the TTL expires, so set one when other writers exist.
+ */
+public class CachingMediaRepository implements MediaRepository {
+
+    private final MediaRepository delegate;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Integer, CachedMedia> cache;
+    // Loads in progress; invalidation removes the entry so a stale load is not cached
+    private final ConcurrentHashMap<Integer, CompletableFuture<Optional<Media>>> inFlight = new ConcurrentHashMap<>();
+    // Multi-get loads in progress; invalidation marks the ID in each so a stale result is not cached
+    private final Set<BatchLoad> batchLoads = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    /**
+     * @param maxSize Maximum number of cached media items
+     * @param ttl Time to live of an entry, or 0 for no expiry
+     */
+    public CachingMediaRepository(MediaRepository delegate, int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+        if (ttl < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        // accessOrder = true turns the map into an LRU
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedMedia> eldest) {
+                if (size() > CachingMediaRepository.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // ==================== CACHED READS ====================
+
+    @Override
+    public Optional<Media> findById(int id) throws DatabaseOperationException {
+        Media cached = lookup(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        CompletableFuture<Optional<Media>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Media>> existing = inFlight.putIfAbsent(id, load);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+
+        try {
+            Optional<Media> media = delegate.findById(id);
+            // Only cache if nobody invalidated the ID while we were loading; misses are not cached.
+            // Under the cache lock, so an invalidation either removed the load first or runs after the store
+            synchronized (cache) {
+                if (inFlight.remove(id, load) && media.isPresent()) {
+                    store(id, media.get());
+                }
+            }
+            load.complete(media);
+            return media;
+        } catch (DatabaseOperationException | RuntimeException e) {
+            inFlight.remove(id, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Media getById(int id) throws ResourceNotFoundException, DatabaseOperationException {
+        return findById(id).orElseThrow(() -> new ResourceNotFoundException("Media", id));
+    }
+
+    @Override
+    public LookupResult<Media> getByIds(Collection<Integer> ids) throws DatabaseOperationException {
+        Map<Integer, Media> resolved = new HashMap<>();
+        Set<Integer> toLoad = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id == null) {
+                // Let the delegate report invalid input the same way it always does
+                return delegate.getByIds(ids);
+            }
+            Media cached = resolved.containsKey(id) ? resolved.get(id) : lookup(id);
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else if (toLoad.add(id)) {
+                misses.increment();
+            }
+        }
+
+        if (!toLoad.isEmpty()) {
+            // Registered before querying, so any invalidation during the load is seen below
+            BatchLoad batch = new BatchLoad();
+            batchLoads.add(batch);
+            try {
+                List<Media> loaded = delegate.getByIds(toLoad).getFound();
+                // Checked under the cache lock: an invalidation either marked the batch already
+                // or will remove the entry after it is stored
+                synchronized (cache) {
+                    for (Media media : loaded) {
+                        resolved.put(media.getId(), media);
+                        if (!batch.isInvalidated(media.getId())) {
+                            store(media.getId(), media);
+                        }
+                    }
+                }
+            } finally {
+                batchLoads.remove(batch);
+            }
+        }
+
+        List<Media> found = new ArrayList<>(ids.size());
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : ids) {
+            Media media = resolved.get(id);
+            if (media != null) {
+                found.add(media);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new LookupResult<>(found, missingIds);
+    }
+
+    @Override
+    public boolean exists(int id) throws DatabaseOperationException {
+        return lookup(id) != null || delegate.exists(id);
+    }
+
+    // ==================== INVALIDATING WRITES ====================
+
+    @Override
+    public Media update(int id, Media entity) throws ResourceNotFoundException, DatabaseOperationException {
+        try {
+            return delegate.update(id, entity);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws ResourceNotFoundException, DatabaseOperationException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public Media upsert(Media entity) throws DatabaseOperationException {
+        Media result = delegate.upsert(entity);
+        invalidate(result.getId());
+        return result;
+    }
+
+    // ==================== CACHE MANAGEMENT ====================
+
+    /**
+     * Drop one ID from the cache and abandon any load in progress for it
+     */
+    public void invalidate(int id) {
+        // Same lock as the store after a load, so a load cannot cache the old row after this returns
+        synchronized (cache) {
+            inFlight.remove(id);
+            for (BatchLoad batch : batchLoads) {
+                batch.invalidatedIds.add(id);
+            }
+            cache.remove(id);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            inFlight.clear();
+            for (BatchLoad batch : batchLoads) {
+                batch.allInvalidated = true;
+            }
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    /**
+     * Misses that waited for another thread's load instead of querying the database
+     */
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    public double getHitRate() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0.0 : (double) getHits() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Media cache: %d/%d entries, %d hits, %d misses (%.1f%% hit rate), "
+                        + "%d evictions, %d expirations, %d coalesced loads",
+                size(), maxSize, getHits(), getMisses(), getHitRate() * 100,
+                getEvictions(), getExpirations(), getCoalescedLoads());
+    }
+
+    /**
+     * Return the cached media if present and fresh, counting a hit
+     */
+    private Media lookup(int id) {
+        synchronized (cache) {
+            CachedMedia entry = cache.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (ttlNanos > 0 && System.nanoTime() - entry.loadedAt >= ttlNanos) {
+                cache.remove(id);
+                expirations.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.media;
+        }
+    }
+
+    private void store(int id, Media media) {
+        synchronized (cache) {
+            cache.put(id, new CachedMedia(media, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Wait for another thread's load, rethrowing its exceptions unchanged
+     */
+    private static Optional<Media> await(CompletableFuture<Optional<Media>> load) throws DatabaseOperationException {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseOperationException("Interrupted while waiting for media to load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseOperationException databaseError) {
+                throw databaseError;
+            }
+            if (cause instanceof RuntimeException runtimeError) {
+                throw runtimeError;
+            }
+            throw new DatabaseOperationException("Failed to load media", cause);
+        }
+    }
+
+    /**
+     * A cached media item and when it was loaded
+     */
+    private static final class CachedMedia {
+        private final Media media;
+        private final long loadedAt;
+
+        private CachedMedia(Media media, long loadedAt) {
+            this.media = media;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * IDs invalidated while a getByIds load was running
+     */
+    private static final class BatchLoad {
+        private final Set<Integer> invalidatedIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean allInvalidated;
+
+        private boolean isInvalidated(int id) {
+            return allInvalidated || invalidatedIds.contains(id);
+        }
+    }
+
+    // ==================== DELEGATED OPERATIONS ====================
+
+    @Override
+    public Media create(Media entity) throws DatabaseOperationException {
+        return delegate.create(entity);
+    }
+
+    @Override
+    public List<Media> getAll() throws DatabaseOperationException {
+        return delegate.getAll();
+    }
+
+    @Override
+    public Optional<Media> createIfAbsent(Media entity) throws DatabaseOperationException {
+        return delegate.createIfAbsent(entity);
+    }
+
+    @Override
+    public BatchResult<Media> createAll(Collection<Media> entities) throws DatabaseOperationException {
+        return delegate.createAll(entities);
+    }
+
+    @Override
+    public BatchResult<Media> createAll(Collection<Media> entities, int chunkSize) throws DatabaseOperationException {
+        return delegate.createAll(entities, chunkSize);
+    }
+
+    @Override
+    public long scanAll(Consumer<? super Media> consumer) throws DatabaseOperationException {
+        return delegate.scanAll(consumer);
+    }
+
+    @Override
+    public long scanByType(Media.MediaType type, Consumer<? super Media> consumer) throws DatabaseOperationException {
+        return delegate.scanByType(type, consumer);
+    }
+
+    @Override
+    public List<Media> findByType(Media.MediaType type) throws DatabaseOperationException {
+        return delegate.findByType(type);
+    }
+
+    @Override
+    public List<Media> findByCreator(String creator) throws DatabaseOperationException {
+        return delegate.findByCreator(creator);
+    }
+
+    @Override
+    public List<Media> searchByName(String keyword) throws DatabaseOperationException {
+        return delegate.searchByName(keyword);
+    }
+
+    @Override
+    public List<Media> search(String query, int limit) throws DatabaseOperationException {
+        return delegate.search(query, limit);
+    }
+
+    @Override
+    public List<Media> searchByPrefix(String prefix, int limit) throws DatabaseOperationException {
+        return delegate.searchByPrefix(prefix, limit);
+    }
+
+    @Override
+    public List<Media> findByCriteria(MediaCriteria criteria) throws DatabaseOperationException {
+        return delegate.findByCriteria(criteria);
+    }
+
+    @Override
+    public List<MediaSummary> getAllSummaries() throws DatabaseOperationException {
+        return delegate.getAllSummaries();
+    }
+
+    @Override
+    public List<MediaSummary> findSummariesByType(Media.MediaType type) throws DatabaseOperationException {
+        return delegate.findSummariesByType(type);
+    }
+
+    @Override
+    public List<MediaSummary> findSummariesByCreator(String creator) throws DatabaseOperationException {
+        return delegate.findSummariesByCreator(creator);
+    }
+
+    @Override
+    public List<MediaSummary> searchSummariesByName(String keyword) throws DatabaseOperationException {
+        return delegate.searchSummariesByName(keyword);
+    }
+
+    @Override
+    public Page<Media> getAllPage(String cursor, int pageSize) throws DatabaseOperationException {
+        return delegate.getAllPage(cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> findByTypePage(Media.MediaType type, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        return delegate.findByTypePage(type, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> findByCreatorPage(String creator, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        return delegate.findByCreatorPage(creator, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> searchByNamePage(String keyword, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        return delegate.searchByNamePage(keyword, cursor, pageSize);
+    }
+
+    @Override
+    public List<String> findSimilarCreators(String creator, int limit) throws DatabaseOperationException {
+        return delegate.findSimilarCreators(creator, limit);
+    }
+
+    @Override
+    public List<Media> findSimilar(String query, int limit) throws DatabaseOperationException {
+        return delegate.findSimilar(query, limit);
+    }
+
+    @Override
+    public boolean existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator)
+            throws DatabaseOperationException {
+        return delegate.existsByNameAndTypeAndCreator(name, type, creator);
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.utils.DatabaseConnection;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+
+/**
+ * Bulk catalog import using PostgreSQL COPY FROM STDIN.
+ * Follows SRP: Single responsibility is loading large media files into the database.
+ *
+ * Rows are streamed from the file into a temporary staging table (the file is never
+ * held in memory), then merged into media in one set-based statement that respects
+ * UNIQUE(name, type, creator): new rows are inserted, changed rows are updated.
+ * When a key appears more than once in the file, its last row wins. A missing price
+ * gets the same default as the application's own inserts (0.99 for songs, 0 for podcasts).
+ *
+ * COPY bypasses the repositories, so caches in front of them (e.g. CachingMediaRepository)
+ * must be invalidated through the afterImport hook.
+ *
+ * Expected column order (no id column):
+ * name, duration, type, creator, album, genre, price, host, episode_number, category
+ */
+public class CatalogImporter {
+
+    /**
+     * Supported input file formats
+     */
+    public enum Format {
+        /** Comma-separated, RFC 4180 quoting, empty unquoted field = NULL */
+        CSV("FORMAT csv"),
+        /** Tab-separated PostgreSQL text format, \N = NULL */
+        TSV("FORMAT text");
+
+        private final String copyOptions;
+
+        Format(String copyOptions) {
+            this.copyOptions = copyOptions;
+        }
+    }
+
+    private static final String COLUMNS =
+            "name, duration, type, creator, album, genre, price, host, episode_number, category";
+
+    private static final String CREATE_STAGING = """
+        CREATE TEMP TABLE media_staging (
+            line BIGINT GENERATED ALWAYS AS IDENTITY,
+            name TEXT, duration INTEGER, type TEXT, creator TEXT,
+            album TEXT, genre TEXT, price NUMERIC(5,2),
+            host TEXT, episode_number INTEGER, category TEXT
+        ) ON COMMIT DROP
+    """;
+
+    // DISTINCT ON keeps one row per key (a key may not be touched twice by one ON CONFLICT statement),
+    // the last one in file order (COPY numbers staging rows in input order);
+    // xmax = 0 distinguishes freshly inserted rows from updated ones
+    private static final String MERGE = """
+        WITH merged AS (
+            INSERT INTO media (name, duration, type, creator, album, genre, price, host, episode_number, category)
+            SELECT DISTINCT ON (name, type, creator)
+                   name, duration, type, creator, album, genre,
+                   COALESCE(price, CASE type WHEN 'SONG' THEN 0.99 ELSE 0 END), host,
+                   COALESCE(episode_number, 0), category
+            FROM media_staging
+            ORDER BY name, type, creator, line DESC
+            ON CONFLICT (name, type, creator) DO UPDATE
+            SET duration = EXCLUDED.duration, album = EXCLUDED.album, genre = EXCLUDED.genre,
+                price = EXCLUDED.price, host = EXCLUDED.host,
+                episode_number = EXCLUDED.episode_number, category = EXCLUDED.category
+            WHERE (media.duration, media.album, media.genre, media.price,
+                   media.host, media.episode_number, media.category)
+                  IS DISTINCT FROM
+                  (EXCLUDED.duration, EXCLUDED.album, EXCLUDED.genre, EXCLUDED.price,
+                   EXCLUDED.host, EXCLUDED.episode_number, EXCLUDED.category)
+            RETURNING (xmax = 0) AS inserted
+        )
+        SELECT COUNT(*) FILTER (WHERE inserted), COUNT(*) FILTER (WHERE NOT inserted) FROM merged
+    """;
+
+    private final Runnable afterImport;
+
+    public CatalogImporter() {
+        this(() -> { });
+    }
+
+    /**
+     * @param afterImport Runs after every committed import, e.g. CachingMediaRepository::invalidateAll
+     */
+    public CatalogImporter(Runnable afterImport) {
+        this.afterImport = afterImport;
+    }
+
+    /**
+     * Import a UTF-8 catalog file
+     * @param hasHeader true if the first line holds column names and must be skipped
+     */
+    public ImportReport importFile(Path file, Format format, boolean hasHeader)
+            throws IOException, DatabaseOperationException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, format, hasHeader);
+        }
+    }
+
+    /**
+     * Import catalog rows from a reader; the reader is consumed but not closed
+     */
+    public ImportReport importFrom(Reader source, Format format, boolean hasHeader)
+            throws IOException, DatabaseOperationException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        if (hasHeader) {
+            reader.readLine();
+        }
+
+        ImportReport report;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(CREATE_STAGING);
+                }
+
+                long copyStart = System.currentTimeMillis();
+                CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+                long rowsCopied = copyManager.copyIn(
+                        "COPY media_staging (" + COLUMNS + ") FROM STDIN WITH (" + format.copyOptions + ")", reader);
+                long copyMillis = System.currentTimeMillis() - copyStart;
+
+                long mergeStart = System.currentTimeMillis();
+                long inserted = 0;
+                long updated = 0;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(MERGE)) {
+                    if (rs.next()) {
+                        inserted = rs.getLong(1);
+                        updated = rs.getLong(2);
+                    }
+                }
+                conn.commit();
+                long mergeMillis = System.currentTimeMillis() - mergeStart;
+
+                report = new ImportReport(rowsCopied, inserted, updated, copyMillis, mergeMillis);
+
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to import media catalog", e);
+        }
+
+        // Rows may have changed under cached copies
+        afterImport.run();
+        return report;
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.Playlist;
+import org.example.musiclibrary.model.Podcast;
+import org.example.musiclibrary.model.Song;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable, memory-mapped catalog segment written by {@link CatalogSegmentWriter}
+ * (see there for the layout).
+ *
+ * The file is mapped as a {@link MemorySegment} with 64-bit offsets, so segments are not
+ * limited to 2 GB like a MappedByteBuffer. Opening only validates the header: records are
+ * decoded on access, straight from the mapping, and lookups by id binary search the index
+ * in place. Nothing is copied to the heap up front; the data lives in the OS page cache and
+ * is shared by every process mapping the same file.
+ *
+ * The mapping belongs to a shared {@link Arena} and is released deterministically by
+ * {@link #close()} instead of whenever the GC collects a buffer. All reads use absolute
+ * offsets, so a segment is safe to share between threads until it is closed.
+ */
+public class CatalogSegment implements AutoCloseable {
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment data;
+    private final int mediaCount;
+    private final int playlistCount;
+    private final long mediaIdIndex;
+    private final long mediaNameIndex;
+    private final long playlistIndex;
+
+    private CatalogSegment(Arena arena, MemorySegment data) throws IOException {
+        this.arena = arena;
+        this.data = data;
+        if (data.byteSize() < CatalogSegmentWriter.HEADER_BYTES || data.get(INT, 0) != CatalogSegmentWriter.MAGIC) {
+            throw new IOException("Not a catalog segment file");
+        }
+        if (data.get(INT, 4) != CatalogSegmentWriter.VERSION) {
+            throw new IOException("Unsupported catalog segment version: " + data.get(INT, 4));
+        }
+        this.mediaCount = data.get(INT, 8);
+        this.playlistCount = data.get(INT, 12);
+        this.mediaIdIndex = data.get(LONG, 16);
+        this.mediaNameIndex = data.get(LONG, 24);
+        this.playlistIndex = data.get(LONG, 32);
+    }
+
+    /**
+     * Memory-map a segment file (read-only); close the segment to unmap it
+     */
+    public static CatalogSegment open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed, until the arena is
+            return new CatalogSegment(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Unmap the file. Any later read, including through a {@link SegmentMediaRepository}
+     * over this segment, throws IllegalStateException.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    public int getMediaCount() {
+        return mediaCount;
+    }
+
+    public int getPlaylistCount() {
+        return playlistCount;
+    }
+
+    /**
+     * Size of the mapped file in bytes
+     */
+    public long getSizeInBytes() {
+        return data.byteSize();
+    }
+
+    public Optional<Media> findMedia(int id) {
+        long record = findMediaRecord(id);
+        return record < 0 ? Optional.empty() : Optional.of(mediaAt(record));
+    }
+
+    /**
+     * Look up a playlist; its items are decoded from the media records
+     */
+    public Optional<Playlist> findPlaylist(int id) {
+        int row = binarySearch(playlistIndex, playlistCount, id);
+        return row < 0 ? Optional.empty() : Optional.of(playlistAt(entryOffset(playlistIndex, row)));
+    }
+
+    /**
+     * All playlists in id order, with their items
+     */
+    public List<Playlist> getPlaylists() {
+        List<Playlist> playlists = new ArrayList<>(playlistCount);
+        for (int row = 0; row < playlistCount; row++) {
+            playlists.add(playlistAt(entryOffset(playlistIndex, row)));
+        }
+        return playlists;
+    }
+
+    // ==================== RECORD ACCESS (for SegmentMediaRepository) ====================
+
+    /**
+     * Offset of the media record with the given id, or -1
+     */
+    long findMediaRecord(int id) {
+        int row = binarySearch(mediaIdIndex, mediaCount, id);
+        return row < 0 ? -1 : entryOffset(mediaIdIndex, row);
+    }
+
+    /**
+     * Index of the first media row (in id order) whose id is greater than the given id
+     */
+    int firstMediaRowAfter(int id) {
+        int low = 0;
+        int high = mediaCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (data.get(INT, mediaIdIndex + (long) mid * CatalogSegmentWriter.ID_ENTRY_BYTES) <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Record offset of the media at a row of the id index
+     */
+    long mediaRecordById(int row) {
+        return entryOffset(mediaIdIndex, row);
+    }
+
+    /**
+     * Record offset of the media at a rank of the (name, id) index
+     */
+    long mediaRecordByName(int rank) {
+        return data.get(LONG, mediaNameIndex + (long) rank * Long.BYTES);
+    }
+
+    int idAt(long record) {
+        return data.get(INT, record);
+    }
+
+    Media.MediaType typeAt(long record) {
+        return data.get(ValueLayout.JAVA_BYTE, record + Integer.BYTES) == CatalogSegmentWriter.TYPE_SONG
+                ? Media.MediaType.SONG : Media.MediaType.PODCAST;
+    }
+
+    int durationAt(long record) {
+        return data.get(INT, record + Integer.BYTES + 1);
+    }
+
+    String nameAt(long record) {
+        return readString(nameOffset(record));
+    }
+
+    String creatorAt(long record) {
+        return readString(skipString(nameOffset(record)));
+    }
+
+    /**
+     * Genre of a song record, or null for a podcast
+     */
+    String genreAt(long record) {
+        if (typeAt(record) != Media.MediaType.SONG) {
+            return null;
+        }
+        // name, creator, album precede the genre
+        return readString(skipString(skipString(skipString(nameOffset(record)))));
+    }
+
+    /**
+     * Price of a song record (podcasts have none; check typeAt first)
+     */
+    double priceAt(long record) {
+        return data.get(DOUBLE, skipString(skipString(skipString(skipString(nameOffset(record))))));
+    }
+
+    /**
+     * Decode a full media record
+     */
+    Media mediaAt(long record) {
+        int id = idAt(record);
+        int duration = durationAt(record);
+        long position = nameOffset(record);
+        String name = readString(position);
+        position = skipString(position);
+        String creator = readString(position);
+        position = skipString(position);
+
+        if (typeAt(record) == Media.MediaType.SONG) {
+            String album = readString(position);
+            position = skipString(position);
+            String genre = readString(position);
+            position = skipString(position);
+            return new Song(id, name, duration, creator, album, genre, data.get(DOUBLE, position));
+        }
+
+        String host = readString(position);
+        position = skipString(position);
+        int episodeNumber = data.get(INT, position);
+        position += Integer.BYTES;
+        return new Podcast(id, name, duration, creator, host, episodeNumber, readString(position));
+    }
+
+    // ==================== HELPERS ====================
+
+    private Playlist playlistAt(long record) {
+        int id = data.get(INT, record);
+        long position = record + Integer.BYTES;
+        String name = readString(position);
+        position = skipString(position);
+        String description = readString(position);
+        position = skipString(position);
+
+        int itemCount = data.get(INT, position);
+        position += Integer.BYTES;
+        List<Media> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            long mediaRecord = findMediaRecord(data.get(INT, position + (long) i * Integer.BYTES));
+            if (mediaRecord >= 0) {
+                items.add(mediaAt(mediaRecord));
+            }
+        }
+        return new Playlist(id, name, description, items);
+    }
+
+    /**
+     * Binary search an (id, offset) index
+     * @return The row, or -1
+     */
+    private int binarySearch(long index, int count, int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = data.get(INT, index + (long) mid * CatalogSegmentWriter.ID_ENTRY_BYTES);
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private long entryOffset(long index, int row) {
+        return data.get(LONG, index + (long) row * CatalogSegmentWriter.ID_ENTRY_BYTES + Integer.BYTES);
+    }
+
+    private static long nameOffset(long record) {
+        return record + Integer.BYTES + 1 + Integer.BYTES;
+    }
+
+    private long skipString(long position) {
+        return position + Integer.BYTES + Math.max(data.get(INT, position), 0);
+    }
+
+    private String readString(long position) {
+        int length = data.get(INT, position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(data, ValueLayout.JAVA_BYTE, position + Integer.BYTES, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CatalogSegment: %d media, %d playlists, %d KB mapped",
+                mediaCount, playlistCount, data.byteSize() / 1024);
+    }
+}
@@ -0,0 +1,293 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.Playlist;
+import org.example.musiclibrary.model.Podcast;
+import org.example.musiclibrary.model.Song;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Export job that writes the catalog to the segment file read by {@link CatalogSegment}.
+ *
+ * Media are streamed from {@link ReadOnlyMediaRepository#scanAll}, so only ids, offsets and
+ * names are held while writing. The file is written next to the target and moved into place
+ * at the end, so readers never see a partially written segment. Offsets are 64-bit, so
+ * segments are not limited to 2 GB.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header    : int magic, int version, int mediaCount, int playlistCount,
+ *             long mediaIdIndexOffset, long mediaNameIndexOffset, long playlistIndexOffset
+ * media     : per record: int id, byte type, int duration, str name, str creator, then
+ *             SONG: str album, str genre, double price | PODCAST: str host, int episodeNumber, str category
+ * playlists : per record: int id, str name, str description, int itemCount, itemCount x int mediaId
+ * id index  : mediaCount x (int id, long recordOffset) ascending by id
+ * name index: mediaCount x long recordOffset ordered by (lower-cased name, name, id)
+ * playlist index: playlistCount x (int id, long recordOffset) ascending by id
+ * str       : int byteLength (-1 for null), UTF-8 bytes
+ * </pre>
+ */
+public class CatalogSegmentWriter {
+
+    static final int MAGIC = 0x4D4C5347; // "MLSG"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 4 * Integer.BYTES + 3 * Long.BYTES;
+    static final int ID_ENTRY_BYTES = Integer.BYTES + Long.BYTES;
+
+    static final byte TYPE_SONG = 0;
+    static final byte TYPE_PODCAST = 1;
+
+    /**
+     * Order of the name index; shared with the reader so page cursors compare the same way
+     */
+    static final Comparator<String> NAME_ORDER = Comparator.<String, String>comparing(name -> name.toLowerCase(Locale.ROOT))
+            .thenComparing(Comparator.naturalOrder());
+
+    private final ReadOnlyMediaRepository mediaRepository;
+    private final PlaylistRepository playlistRepository;
+
+    public CatalogSegmentWriter(ReadOnlyMediaRepository mediaRepository, PlaylistRepository playlistRepository) {
+        this.mediaRepository = mediaRepository;
+        this.playlistRepository = playlistRepository;
+    }
+
+    /**
+     * Export all media and playlists, replacing any existing file
+     */
+    public void writeTo(Path file) throws IOException, DatabaseOperationException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            ByteBuffer header = writeBody(temp);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Write records and indexes after a zeroed header
+     * @return The header to write at offset 0
+     */
+    private ByteBuffer writeBody(Path temp) throws IOException, DatabaseOperationException {
+        CountingOutputStream counter = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+        try (DataOutputStream out = new DataOutputStream(counter)) {
+            out.write(new byte[HEADER_BYTES]);
+
+            IndexEntries media = new IndexEntries();
+            try {
+                mediaRepository.scanAll(item -> {
+                    try {
+                        media.add(item.getId(), counter.position, item.getName());
+                        writeMedia(out, item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            IndexEntries playlists = new IndexEntries();
+            for (Playlist playlist : playlistRepository.getAll(PlaylistRepository.FetchMode.EAGER)) {
+                playlists.add(playlist.getId(), counter.position, null);
+                writePlaylist(out, playlist);
+            }
+
+            // Name index: record offsets in (name, id) order, the same order as NAME_ORDER then id.
+            // Names are lower-cased once up front rather than on every comparison
+            String[] lowerNames = new String[media.size];
+            for (int row = 0; row < media.size; row++) {
+                lowerNames[row] = media.names.get(row).toLowerCase(Locale.ROOT);
+            }
+            int[] byName = sortedRows(media.size, (a, b) -> {
+                int order = lowerNames[a].compareTo(lowerNames[b]);
+                if (order == 0) {
+                    order = media.names.get(a).compareTo(media.names.get(b));
+                }
+                return order != 0 ? order : Integer.compare(media.ids[a], media.ids[b]);
+            });
+
+            long nameIndexOffset = counter.position;
+            for (int row : byName) {
+                out.writeLong(media.offsets[row]);
+            }
+
+            long idIndexOffset = writeIdIndex(out, counter, media);
+            long playlistIndexOffset = writeIdIndex(out, counter, playlists);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(media.size).putInt(playlists.size)
+                    .putLong(idIndexOffset).putLong(nameIndexOffset).putLong(playlistIndexOffset);
+            return header.flip();
+        }
+    }
+
+    /**
+     * Write (id, offset) pairs sorted by id
+     * @return Offset of the index
+     */
+    private static long writeIdIndex(DataOutputStream out, CountingOutputStream counter, IndexEntries entries)
+            throws IOException {
+        // (id << 32 | row) sorts rows by id without boxing
+        long[] sorted = new long[entries.size];
+        for (int row = 0; row < entries.size; row++) {
+            sorted[row] = ((long) entries.ids[row] << 32) | row;
+        }
+        Arrays.sort(sorted);
+
+        long indexOffset = counter.position;
+        for (long entry : sorted) {
+            int row = (int) entry;
+            out.writeInt(entries.ids[row]);
+            out.writeLong(entries.offsets[row]);
+        }
+        return indexOffset;
+    }
+
+    /**
+     * Rows 0 .. count - 1 in comparator order: a bottom-up merge sort on int[], so rows are never boxed
+     */
+    private static int[] sortedRows(int count, IntBinaryOperator comparator) {
+        int[] rows = new int[count];
+        for (int row = 0; row < count; row++) {
+            rows[row] = row;
+        }
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(low + 2 * width, count);
+                System.arraycopy(rows, low, buffer, low, high - low);
+                int left = low;
+                int right = mid;
+                int target = low;
+                while (left < mid && right < high) {
+                    rows[target++] = comparator.applyAsInt(buffer[left], buffer[right]) <= 0
+                            ? buffer[left++] : buffer[right++];
+                }
+                while (left < mid) {
+                    rows[target++] = buffer[left++];
+                }
+                while (right < high) {
+                    rows[target++] = buffer[right++];
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void writeMedia(DataOutputStream out, Media media) throws IOException {
+        out.writeInt(media.getId());
+        out.writeByte(media instanceof Song ? TYPE_SONG : TYPE_PODCAST);
+        out.writeInt(media.getDuration());
+        writeString(out, media.getName());
+        writeString(out, media.getCreator());
+
+        if (media instanceof Song) {
+            Song song = (Song) media;
+            writeString(out, song.getAlbum());
+            writeString(out, song.getGenre());
+            out.writeDouble(song.getPrice());
+        } else if (media instanceof Podcast) {
+            Podcast podcast = (Podcast) media;
+            writeString(out, podcast.getHost());
+            out.writeInt(podcast.getEpisodeNumber());
+            writeString(out, podcast.getCategory());
+        } else {
+            throw new IOException("Unsupported media type: " + media.getType());
+        }
+    }
+
+    private static void writePlaylist(DataOutputStream out, Playlist playlist) throws IOException {
+        out.writeInt(playlist.getId());
+        writeString(out, playlist.getName());
+        writeString(out, playlist.getDescription());
+        List<Media> items = playlist.getItems();
+        out.writeInt(items.size());
+        for (Media item : items) {
+            out.writeInt(item.getId());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Growable (id, record offset) columns, plus names when a name index is built
+     */
+    private static final class IndexEntries {
+        private int[] ids = new int[1024];
+        private long[] offsets = new long[1024];
+        private final List<String> names = new ArrayList<>();
+        private int size;
+
+        private void add(int id, long offset, String name) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            ids[size] = id;
+            offsets[size] = offset;
+            if (name != null) {
+                names.add(name);
+            }
+            size++;
+        }
+    }
+
+    /**
+     * Tracks the 64-bit write position (DataOutputStream.size() is an int and saturates at 2 GB)
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long position;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+    }
+}
@@ -2,15 +2,14 @@ package org.example.musiclibrary.repository;
 
 import org.example.musiclibrary.exception.DatabaseOperationException;
 import org.example.musiclibrary.exception.ResourceNotFoundException;
-import java.util.List;
 
 /**
  * Generic CRUD Repository interface.
  * Demonstrates Generics and DIP (Dependency Inversion Principle).
  * Type parameter T represents the entity type.
- * Follows ISP: defines only essential CRUD operations.
+ * Follows ISP: adds the write operations to the reads of ReadOnlyRepository.
  */
-public interface CrudRepository<T> {
+public interface CrudRepository<T> extends ReadOnlyRepository<T> {
 
     /**
      * Create a new entity in the database
@@ -20,22 +19,6 @@ public interface CrudRepository<T> {
      */
     T create(T entity) throws DatabaseOperationException;
 
-    /**
-     * Retrieve all entities from the database
-     * @return List of all entities
-     * @throws DatabaseOperationException if retrieval fails
-     */
-    List<T> getAll() throws DatabaseOperationException;
-
-    /**
-     * Retrieve an entity by its ID
-     * @param id The entity ID
-     * @return The entity if found
-     * @throws ResourceNotFoundException if entity not found
-     * @throws DatabaseOperationException if retrieval fails
-     */
-    T getById(int id) throws ResourceNotFoundException, DatabaseOperationException;
-
     /**
      * Update an existing entity
      * @param id The entity ID
@@ -54,12 +37,4 @@ public interface CrudRepository<T> {
      * @throws DatabaseOperationException if deletion fails
      */
     boolean delete(int id) throws ResourceNotFoundException, DatabaseOperationException;
-
-    /**
-     * Check if an entity exists by ID
-     * @param id The entity ID
-     * @return true if exists
-     * @throws DatabaseOperationException if check fails
-     */
-    boolean exists(int id) throws DatabaseOperationException;
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package org.example.musiclibrary.repository;
+
+/**
+ * Summary of a bulk catalog import: row counts per phase and throughput.
+ */
+public class ImportReport {
+
+    private final long rowsCopied;
+    private final long rowsInserted;
+    private final long rowsUpdated;
+    private final long copyMillis;
+    private final long mergeMillis;
+
+    public ImportReport(long rowsCopied, long rowsInserted, long rowsUpdated, long copyMillis, long mergeMillis) {
+        this.rowsCopied = rowsCopied;
+        this.rowsInserted = rowsInserted;
+        this.rowsUpdated = rowsUpdated;
+        this.copyMillis = copyMillis;
+        this.mergeMillis = mergeMillis;
+    }
+
+    /**
+     * Rows streamed from the file into the staging table
+     */
+    public long getRowsCopied() {
+        return rowsCopied;
+    }
+
+    /**
+     * Rows that did not exist in media yet
+     */
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    /**
+     * Existing rows (same name, type and creator) whose other columns changed
+     */
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    /**
+     * Rows that matched an existing row exactly, or repeated a key within the file
+     */
+    public long getRowsUnchanged() {
+        return rowsCopied - rowsInserted - rowsUpdated;
+    }
+
+    public long getCopyMillis() {
+        return copyMillis;
+    }
+
+    public long getMergeMillis() {
+        return mergeMillis;
+    }
+
+    public long getTotalMillis() {
+        return copyMillis + mergeMillis;
+    }
+
+    /**
+     * End-to-end throughput (copy + merge) in rows per second
+     */
+    public double getRowsPerSecond() {
+        long total = getTotalMillis();
+        return total == 0 ? rowsCopied : rowsCopied * 1000.0 / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %d rows in %d ms (%.0f rows/sec): %d inserted, %d updated, %d unchanged "
+                        + "[copy %d ms, merge %d ms]",
+                rowsCopied, getTotalMillis(), getRowsPerSecond(), rowsInserted, rowsUpdated, getRowsUnchanged(),
+                copyMillis, mergeMillis);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.musiclibrary.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a multi-get by IDs: the entities found, in the order they were requested,
+ * plus the requested IDs that do not exist.
+ * Type parameter T represents the entity type.
+ */
+public class LookupResult<T> {
+
+    private final List<T> found;
+    private final List<Integer> missingIds;
+
+    public LookupResult(List<T> found, List<Integer> missingIds) {
+        this.found = Collections.unmodifiableList(found);
+        this.missingIds = Collections.unmodifiableList(missingIds);
+    }
+
+    public List<T> getFound() {
+        return found;
+    }
+
+    public List<Integer> getMissingIds() {
+        return missingIds;
+    }
+
+    public boolean hasMissing() {
+        return !missingIds.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LookupResult: %d found, %d missing", found.size(), missingIds.size());
+    }
+}
@@ -0,0 +1,250 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.model.Media;
+
+import java.util.Optional;
+
+/**
+ * Immutable filter and sort specification for MediaRepository.findByCriteria.
+ * Every filter is optional; the ones that are set are combined with AND.
+ * Build instances with {@link #builder()}.
+ *
+ * Example: songs by Queen longer than 5 minutes, longest first
+ * <pre>
+ * MediaCriteria.builder()
+ *         .type(Media.MediaType.SONG)
+ *         .creator("Queen")
+ *         .minDuration(300)
+ *         .sortBy(MediaCriteria.SortKey.DURATION, MediaCriteria.Direction.DESC)
+ *         .build();
+ * </pre>
+ */
+public class MediaCriteria {
+
+    /**
+     * Sortable columns; results are always ordered by id as a final tie-breaker
+     */
+    public enum SortKey {
+        ID("id"),
+        NAME("name"),
+        CREATOR("creator"),
+        DURATION("duration"),
+        PRICE("price");
+
+        private final String column;
+
+        SortKey(String column) {
+            this.column = column;
+        }
+
+        String column() {
+            return column;
+        }
+    }
+
+    public enum Direction {
+        ASC, DESC
+    }
+
+    private final Media.MediaType type;
+    private final String creator;
+    private final Integer minDuration;
+    private final Integer maxDuration;
+    private final String genre;
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final String nameContains;
+    private final SortKey sortKey;
+    private final Direction direction;
+    private final Integer limit;
+
+    private MediaCriteria(Builder builder) {
+        this.type = builder.type;
+        this.creator = builder.creator;
+        this.minDuration = builder.minDuration;
+        this.maxDuration = builder.maxDuration;
+        this.genre = builder.genre;
+        this.minPrice = builder.minPrice;
+        this.maxPrice = builder.maxPrice;
+        this.nameContains = builder.nameContains;
+        this.sortKey = builder.sortKey;
+        this.direction = builder.direction;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Optional<Media.MediaType> getType() {
+        return Optional.ofNullable(type);
+    }
+
+    /**
+     * Creator name, matched case-insensitively
+     */
+    public Optional<String> getCreator() {
+        return Optional.ofNullable(creator);
+    }
+
+    public Optional<Integer> getMinDuration() {
+        return Optional.ofNullable(minDuration);
+    }
+
+    public Optional<Integer> getMaxDuration() {
+        return Optional.ofNullable(maxDuration);
+    }
+
+    /**
+     * Genre, matched case-insensitively (songs only)
+     */
+    public Optional<String> getGenre() {
+        return Optional.ofNullable(genre);
+    }
+
+    public Optional<Double> getMinPrice() {
+        return Optional.ofNullable(minPrice);
+    }
+
+    public Optional<Double> getMaxPrice() {
+        return Optional.ofNullable(maxPrice);
+    }
+
+    /**
+     * Substring the name must contain, case-insensitively
+     */
+    public Optional<String> getNameContains() {
+        return Optional.ofNullable(nameContains);
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Maximum number of results, or empty for no limit
+     */
+    public Optional<Integer> getLimit() {
+        return Optional.ofNullable(limit);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MediaCriteria[");
+        getType().ifPresent(value -> sb.append("type=").append(value).append(", "));
+        getCreator().ifPresent(value -> sb.append("creator=").append(value).append(", "));
+        getMinDuration().ifPresent(value -> sb.append("minDuration=").append(value).append(", "));
+        getMaxDuration().ifPresent(value -> sb.append("maxDuration=").append(value).append(", "));
+        getGenre().ifPresent(value -> sb.append("genre=").append(value).append(", "));
+        getMinPrice().ifPresent(value -> sb.append("minPrice=").append(value).append(", "));
+        getMaxPrice().ifPresent(value -> sb.append("maxPrice=").append(value).append(", "));
+        getNameContains().ifPresent(value -> sb.append("nameContains=").append(value).append(", "));
+        sb.append("sort=").append(sortKey).append(' ').append(direction);
+        getLimit().ifPresent(value -> sb.append(", limit=").append(value));
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Builder for MediaCriteria; blank strings are treated as "no filter"
+     */
+    public static class Builder {
+        private Media.MediaType type;
+        private String creator;
+        private Integer minDuration;
+        private Integer maxDuration;
+        private String genre;
+        private Double minPrice;
+        private Double maxPrice;
+        private String nameContains;
+        private SortKey sortKey = SortKey.ID;
+        private Direction direction = Direction.ASC;
+        private Integer limit;
+
+        private Builder() {
+        }
+
+        public Builder type(Media.MediaType type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder creator(String creator) {
+            this.creator = blankToNull(creator);
+            return this;
+        }
+
+        public Builder minDuration(int seconds) {
+            this.minDuration = seconds;
+            return this;
+        }
+
+        public Builder maxDuration(int seconds) {
+            this.maxDuration = seconds;
+            return this;
+        }
+
+        public Builder genre(String genre) {
+            this.genre = blankToNull(genre);
+            return this;
+        }
+
+        public Builder minPrice(double price) {
+            this.minPrice = price;
+            return this;
+        }
+
+        public Builder maxPrice(double price) {
+            this.maxPrice = price;
+            return this;
+        }
+
+        public Builder nameContains(String keyword) {
+            this.nameContains = blankToNull(keyword);
+            return this;
+        }
+
+        public Builder sortBy(SortKey sortKey, Direction direction) {
+            if (sortKey == null || direction == null) {
+                throw new IllegalArgumentException("Sort key and direction cannot be null");
+            }
+            this.sortKey = sortKey;
+            this.direction = direction;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a range is inverted or negative, or the limit is not positive
+         */
+        public MediaCriteria build() {
+            if (minDuration != null && minDuration < 0 || maxDuration != null && maxDuration < 0) {
+                throw new IllegalArgumentException("Duration bounds cannot be negative");
+            }
+            if (minDuration != null && maxDuration != null && minDuration > maxDuration) {
+                throw new IllegalArgumentException("Minimum duration cannot exceed maximum duration");
+            }
+            if (minPrice != null && minPrice < 0 || maxPrice != null && maxPrice < 0) {
+                throw new IllegalArgumentException("Price bounds cannot be negative");
+            }
+            if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+                throw new IllegalArgumentException("Minimum price cannot exceed maximum price");
+            }
+            if (limit != null && limit <= 0) {
+                throw new IllegalArgumentException("Limit must be greater than 0");
+            }
+            return new MediaCriteria(this);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.trim().isEmpty() ? null : value.trim();
+        }
+    }
+}
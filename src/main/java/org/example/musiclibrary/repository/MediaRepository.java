@@ -2,32 +2,45 @@ package org.example.musiclibrary.repository;
 
 import org.example.musiclibrary.exception.DatabaseOperationException;
 import org.example.musiclibrary.model.Media;
-import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
 
 /**
  * MediaRepository interface extending generic CrudRepository.
- * Demonstrates DIP and ISP: defines contract for media-specific operations.
+ * Demonstrates DIP and ISP: defines contract for media-specific operations;
+ * the reads are inherited from ReadOnlyMediaRepository.
  */
-public interface MediaRepository extends CrudRepository<Media> {
+public interface MediaRepository extends CrudRepository<Media>, ReadOnlyMediaRepository {
 
     /**
-     * Find media by type
+     * Default number of rows sent per statement by createAll
      */
-    List<Media> findByType(Media.MediaType type) throws DatabaseOperationException;
+    int DEFAULT_BATCH_SIZE = 500;
 
     /**
-     * Find media by creator
+     * Insert the entity unless media with the same name, type and creator already exists.
+     * Runs as a single INSERT ... ON CONFLICT DO NOTHING, so concurrent duplicate creates are safe.
+     * @return The created entity with generated ID, or empty if it already existed
      */
-    List<Media> findByCreator(String creator) throws DatabaseOperationException;
+    Optional<Media> createIfAbsent(Media entity) throws DatabaseOperationException;
 
     /**
-     * Search media by name
+     * Insert the entity, or update the existing row with the same name, type and creator.
+     * Runs as a single INSERT ... ON CONFLICT DO UPDATE statement.
+     * @return The entity with the ID of the inserted or updated row
      */
-    List<Media> searchByName(String keyword) throws DatabaseOperationException;
+    Media upsert(Media entity) throws DatabaseOperationException;
 
     /**
-     * Check if media exists by name, type, and creator
+     * Insert many media items using multi-row INSERTs sent in chunks of the default size.
+     * Duplicates (same name, type and creator) and rows rejected by the database are
+     * reported as failures without aborting the rest of the batch.
+     * @return Result holding the created items (with generated IDs) and per-row failures
      */
-    boolean existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator)
-            throws DatabaseOperationException;
-}
\ No newline at end of file
+    BatchResult<Media> createAll(Collection<Media> entities) throws DatabaseOperationException;
+
+    /**
+     * Insert many media items, sending at most chunkSize rows per statement
+     */
+    BatchResult<Media> createAll(Collection<Media> entities, int chunkSize) throws DatabaseOperationException;
+}
@@ -4,10 +4,21 @@ import org.example.musiclibrary.exception.DatabaseOperationException;
 import org.example.musiclibrary.exception.ResourceNotFoundException;
 import org.example.musiclibrary.model.*;
 import org.example.musiclibrary.utils.DatabaseConnection;
+import org.example.musiclibrary.utils.StringPool;
 
+import java.math.BigDecimal;
 import java.sql.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Implementation of MediaRepository using JDBC.
@@ -16,6 +27,17 @@ import java.util.List;
  */
 public class MediaRepositoryImpl implements MediaRepository {
 
+    private static final String INSERT_COLUMNS =
+            "name, duration, type, creator, album, genre, price, host, episode_number, category";
+    private static final int INSERT_COLUMN_COUNT = 10;
+    private static final String SELECT_MEDIA = "SELECT " + MediaRowMapper.COLUMNS + " FROM media";
+    private static final String SELECT_SUMMARY = "SELECT " + MediaRowMapper.SUMMARY_COLUMNS + " FROM media";
+    // PostgreSQL accepts at most 65535 bind parameters per statement
+    private static final int MAX_BATCH_SIZE = 65535 / INSERT_COLUMN_COUNT;
+    // SQLState classes of errors caused by the row data: 22 data exception, 23 integrity constraint violation
+    private static final String DATA_EXCEPTION_CLASS = "22";
+    private static final String CONSTRAINT_VIOLATION_CLASS = "23";
+
     @Override
     public Media create(Media entity) throws DatabaseOperationException {
         String sql = """
@@ -26,29 +48,7 @@ public class MediaRepositoryImpl implements MediaRepository {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setString(1, entity.getName());
-            pstmt.setInt(2, entity.getDuration());
-            pstmt.setString(3, entity.getType().name());
-            pstmt.setString(4, entity.getCreator());
-
-            // Song-specific fields
-            if (entity instanceof Song song) {
-                pstmt.setString(5, song.getAlbum());
-                pstmt.setString(6, song.getGenre());
-                pstmt.setDouble(7, song.getPrice());
-                pstmt.setNull(8, Types.VARCHAR);
-                pstmt.setInt(9, 0);
-                pstmt.setNull(10, Types.VARCHAR);
-            }
-            // Podcast-specific fields
-            else if (entity instanceof Podcast podcast) {
-                pstmt.setNull(5, Types.VARCHAR);
-                pstmt.setNull(6, Types.VARCHAR);
-                pstmt.setDouble(7, 0.0);
-                pstmt.setString(8, podcast.getHost());
-                pstmt.setInt(9, podcast.getEpisodeNumber());
-                pstmt.setString(10, podcast.getCategory());
-            }
+            bindInsertParameters(pstmt, 0, entity);
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -69,10 +69,201 @@ public class MediaRepositoryImpl implements MediaRepository {
         }
     }
 
+    @Override
+    public Optional<Media> createIfAbsent(Media entity) throws DatabaseOperationException {
+        String sql = """
+            INSERT INTO media (name, duration, type, creator, album, genre, price, host, episode_number, category)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (name, type, creator) DO NOTHING
+            RETURNING id
+        """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            bindInsertParameters(pstmt, 0, entity);
+
+            // No row returned means the unique key already existed
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    entity.setId(rs.getInt(1));
+                    return Optional.of(entity);
+                }
+                return Optional.empty();
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to create media", e);
+        }
+    }
+
+    @Override
+    public Media upsert(Media entity) throws DatabaseOperationException {
+        String sql = """
+            INSERT INTO media (name, duration, type, creator, album, genre, price, host, episode_number, category)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (name, type, creator) DO UPDATE
+            SET duration = EXCLUDED.duration, album = EXCLUDED.album, genre = EXCLUDED.genre,
+                price = EXCLUDED.price, host = EXCLUDED.host,
+                episode_number = EXCLUDED.episode_number, category = EXCLUDED.category
+            RETURNING id
+        """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            bindInsertParameters(pstmt, 0, entity);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Upserting media failed, no row returned");
+                }
+                entity.setId(rs.getInt(1));
+                return entity;
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to upsert media", e);
+        }
+    }
+
+    @Override
+    public BatchResult<Media> createAll(Collection<Media> entities) throws DatabaseOperationException {
+        return createAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    public BatchResult<Media> createAll(Collection<Media> entities, int chunkSize) throws DatabaseOperationException {
+        if (chunkSize <= 0 || chunkSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        BatchResult<Media> result = new BatchResult<>();
+        List<Media> chunk = new ArrayList<>(Math.min(chunkSize, entities.size()));
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (Media entity : entities) {
+                chunk.add(entity);
+                if (chunk.size() == chunkSize) {
+                    insertChunk(conn, chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                insertChunk(conn, chunk, result);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to create media batch", e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Insert one chunk with a single multi-row INSERT ... ON CONFLICT DO NOTHING RETURNING.
+     * Rows missing from the RETURNING set already existed. If the database rejects the
+     * row data (e.g. a CHECK constraint), the chunk is retried row by row to isolate the bad rows;
+     * any other error (lost connection, pool timeout, ...) is rethrown.
+     */
+    private void insertChunk(Connection conn, List<Media> chunk, BatchResult<Media> result) throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO media (" + INSERT_COLUMNS + ") VALUES ");
+        String row = "(" + "?, ".repeat(INSERT_COLUMN_COUNT - 1) + "?)";
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? row : ", " + row);
+        }
+        sql.append(" ON CONFLICT (name, type, creator) DO NOTHING RETURNING id, name, type, creator");
+
+        // Rows are matched back to their entities by unique key, in chunk order
+        Map<String, Deque<Media>> pending = new HashMap<>();
+        for (Media entity : chunk) {
+            pending.computeIfAbsent(uniqueKey(entity.getName(), entity.getType().name(), entity.getCreator()),
+                    k -> new ArrayDeque<>()).add(entity);
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < chunk.size(); i++) {
+                bindInsertParameters(pstmt, i * INSERT_COLUMN_COUNT, chunk.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Deque<Media> candidates = pending.get(
+                            uniqueKey(rs.getString("name"), rs.getString("type"), rs.getString("creator")));
+                    if (candidates != null && !candidates.isEmpty()) {
+                        Media created = candidates.poll();
+                        created.setId(rs.getInt("id"));
+                        result.addSuccess(created);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            if (!isRowDataError(e)) {
+                throw e;
+            }
+            if (chunk.size() == 1) {
+                result.addFailure(chunk.get(0), "Rejected by database: " + e.getMessage());
+                return;
+            }
+            for (Media entity : chunk) {
+                insertChunk(conn, List.of(entity), result);
+            }
+            return;
+        }
+
+        for (Deque<Media> duplicates : pending.values()) {
+            for (Media duplicate : duplicates) {
+                result.addFailure(duplicate, String.format("Duplicate: %s '%s' by %s",
+                        duplicate.getType(), duplicate.getName(), duplicate.getCreator()));
+            }
+        }
+    }
+
+    /**
+     * Whether the error is caused by the values of some row, so retrying the rows one by one can isolate it
+     */
+    private static boolean isRowDataError(SQLException e) {
+        String sqlState = e.getSQLState();
+        return sqlState != null
+                && (sqlState.startsWith(DATA_EXCEPTION_CLASS) || sqlState.startsWith(CONSTRAINT_VIOLATION_CLASS));
+    }
+
+    private static String uniqueKey(String name, String type, String creator) {
+        return name + '\u0000' + type + '\u0000' + creator;
+    }
+
+    /**
+     * Bind the INSERT_COLUMNS values of one entity, starting after the given parameter offset
+     */
+    private static void bindInsertParameters(PreparedStatement pstmt, int offset, Media entity) throws SQLException {
+        pstmt.setString(offset + 1, entity.getName());
+        pstmt.setInt(offset + 2, entity.getDuration());
+        pstmt.setString(offset + 3, entity.getType().name());
+        pstmt.setString(offset + 4, entity.getCreator());
+
+        // Song-specific fields
+        if (entity instanceof Song song) {
+            pstmt.setString(offset + 5, song.getAlbum());
+            pstmt.setString(offset + 6, song.getGenre());
+            pstmt.setDouble(offset + 7, song.getPrice());
+            pstmt.setNull(offset + 8, Types.VARCHAR);
+            pstmt.setInt(offset + 9, 0);
+            pstmt.setNull(offset + 10, Types.VARCHAR);
+        }
+        // Podcast-specific fields
+        else if (entity instanceof Podcast podcast) {
+            pstmt.setNull(offset + 5, Types.VARCHAR);
+            pstmt.setNull(offset + 6, Types.VARCHAR);
+            pstmt.setDouble(offset + 7, 0.0);
+            pstmt.setString(offset + 8, podcast.getHost());
+            pstmt.setInt(offset + 9, podcast.getEpisodeNumber());
+            pstmt.setString(offset + 10, podcast.getCategory());
+        }
+    }
+
     @Override
     public List<Media> getAll() throws DatabaseOperationException {
         List<Media> mediaList = new ArrayList<>();
-        String sql = "SELECT * FROM media ORDER BY id";
+        String sql = SELECT_MEDIA + " ORDER BY id";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
@@ -90,8 +281,63 @@ public class MediaRepositoryImpl implements MediaRepository {
     }
 
     @Override
-    public Media getById(int id) throws ResourceNotFoundException, DatabaseOperationException {
-        String sql = "SELECT * FROM media WHERE id = ?";
+    public long scanAll(Consumer<? super Media> consumer) throws DatabaseOperationException {
+        return scan(SELECT_MEDIA + " ORDER BY id", pstmt -> { }, consumer);
+    }
+
+    @Override
+    public long scanByType(Media.MediaType type, Consumer<? super Media> consumer) throws DatabaseOperationException {
+        return scan(SELECT_MEDIA + " WHERE type = ? ORDER BY name",
+                pstmt -> pstmt.setString(1, type.name()), consumer);
+    }
+
+    /**
+     * Run a query through a server-side cursor and hand each mapped row to the consumer.
+     * The PostgreSQL driver only uses a cursor (instead of buffering the whole result)
+     * when autocommit is off, the result set is forward-only and a fetch size is set.
+     */
+    private long scan(String sql, ParameterBinder binder, Consumer<? super Media> consumer)
+            throws DatabaseOperationException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                pstmt.setFetchSize(DEFAULT_FETCH_SIZE);
+                binder.bind(pstmt);
+
+                long rows = 0;
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(mapResultSetToMedia(rs));
+                        rows++;
+                    }
+                }
+                conn.commit();
+                return rows;
+
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to scan media", e);
+        }
+    }
+
+    /**
+     * Sets the parameters of a prepared statement
+     */
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @Override
+    public Optional<Media> findById(int id) throws DatabaseOperationException {
+        String sql = SELECT_MEDIA + " WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -99,11 +345,7 @@ public class MediaRepositoryImpl implements MediaRepository {
             pstmt.setInt(1, id);
 
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToMedia(rs);
-                } else {
-                    throw new ResourceNotFoundException("Media", id);
-                }
+                return rs.next() ? Optional.of(mapResultSetToMedia(rs)) : Optional.empty();
             }
 
         } catch (SQLException e) {
@@ -112,12 +354,58 @@ public class MediaRepositoryImpl implements MediaRepository {
     }
 
     @Override
-    public Media update(int id, Media entity) throws ResourceNotFoundException, DatabaseOperationException {
-        // Check if exists
-        if (!exists(id)) {
-            throw new ResourceNotFoundException("Media", id);
+    public Media getById(int id) throws ResourceNotFoundException, DatabaseOperationException {
+        return findById(id).orElseThrow(() -> new ResourceNotFoundException("Media", id));
+    }
+
+    @Override
+    public LookupResult<Media> getByIds(Collection<Integer> ids) throws DatabaseOperationException {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Integer, Media> byId = new HashMap<>(distinctIds.size() * 2);
+        String sql = SELECT_MEDIA + " WHERE id = ANY(?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_QUERY) {
+                List<Integer> chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinctIds.size()));
+                Long[] values = chunk.stream().map(Integer::longValue).toArray(Long[]::new);
+
+                Array idArray = conn.createArrayOf("bigint", values);
+                try {
+                    pstmt.setArray(1, idArray);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Media media = mapResultSetToMedia(rs);
+                            byId.put(media.getId(), media);
+                        }
+                    }
+                } finally {
+                    idArray.free();
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to retrieve media by IDs", e);
         }
 
+        // Restore the caller's order
+        List<Media> found = new ArrayList<>(ids.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            Media media = byId.get(id);
+            if (media != null) {
+                found.add(media);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        return new LookupResult<>(found, missing);
+    }
+
+    @Override
+    public Media update(int id, Media entity) throws ResourceNotFoundException, DatabaseOperationException {
         String sql = """
             UPDATE media 
             SET name = ?, duration = ?, creator = ?, album = ?, genre = ?, 
@@ -149,7 +437,11 @@ public class MediaRepositoryImpl implements MediaRepository {
             }
 
             pstmt.setInt(10, id);
-            pstmt.executeUpdate();
+
+            // A single statement: zero affected rows means the media does not exist
+            if (pstmt.executeUpdate() == 0) {
+                throw new ResourceNotFoundException("Media", id);
+            }
 
             entity.setId(id);
             return entity;
@@ -161,18 +453,16 @@ public class MediaRepositoryImpl implements MediaRepository {
 
     @Override
     public boolean delete(int id) throws ResourceNotFoundException, DatabaseOperationException {
-        if (!exists(id)) {
-            throw new ResourceNotFoundException("Media", id);
-        }
-
         String sql = "DELETE FROM media WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, id);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+            if (pstmt.executeUpdate() == 0) {
+                throw new ResourceNotFoundException("Media", id);
+            }
+            return true;
 
         } catch (SQLException e) {
             throw new DatabaseOperationException("Failed to delete media", e);
@@ -181,7 +471,7 @@ public class MediaRepositoryImpl implements MediaRepository {
 
     @Override
     public boolean exists(int id) throws DatabaseOperationException {
-        String sql = "SELECT COUNT(*) FROM media WHERE id = ?";
+        String sql = "SELECT EXISTS (SELECT 1 FROM media WHERE id = ?)";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -190,7 +480,7 @@ public class MediaRepositoryImpl implements MediaRepository {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    return rs.getBoolean(1);
                 }
             }
 
@@ -204,7 +494,7 @@ public class MediaRepositoryImpl implements MediaRepository {
     @Override
     public List<Media> findByType(Media.MediaType type) throws DatabaseOperationException {
         List<Media> mediaList = new ArrayList<>();
-        String sql = "SELECT * FROM media WHERE type = ? ORDER BY name";
+        String sql = SELECT_MEDIA + " WHERE type = ? ORDER BY name";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -227,7 +517,7 @@ public class MediaRepositoryImpl implements MediaRepository {
     @Override
     public List<Media> findByCreator(String creator) throws DatabaseOperationException {
         List<Media> mediaList = new ArrayList<>();
-        String sql = "SELECT * FROM media WHERE LOWER(creator) = LOWER(?) ORDER BY name";
+        String sql = SELECT_MEDIA + " WHERE LOWER(creator) = LOWER(?) ORDER BY name";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -250,12 +540,13 @@ public class MediaRepositoryImpl implements MediaRepository {
     @Override
     public List<Media> searchByName(String keyword) throws DatabaseOperationException {
         List<Media> mediaList = new ArrayList<>();
-        String sql = "SELECT * FROM media WHERE LOWER(name) LIKE LOWER(?) ORDER BY name";
+        // ILIKE with a leading wildcard is served by the pg_trgm GIN index on name
+        String sql = SELECT_MEDIA + " WHERE name ILIKE ? ORDER BY name";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, "%" + keyword + "%");
+            pstmt.setString(1, containsPattern(keyword));
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -270,10 +561,303 @@ public class MediaRepositoryImpl implements MediaRepository {
         return mediaList;
     }
 
+    @Override
+    public List<Media> findByCriteria(MediaCriteria criteria) throws DatabaseOperationException {
+        List<Media> mediaList = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        List<String> predicates = new ArrayList<>();
+
+        criteria.getType().ifPresent(type -> {
+            predicates.add("type = ?");
+            params.add(type.name());
+        });
+        criteria.getCreator().ifPresent(creator -> {
+            predicates.add("LOWER(creator) = LOWER(?)");
+            params.add(creator);
+        });
+        criteria.getMinDuration().ifPresent(min -> {
+            predicates.add("duration >= ?");
+            params.add(min);
+        });
+        criteria.getMaxDuration().ifPresent(max -> {
+            predicates.add("duration <= ?");
+            params.add(max);
+        });
+        criteria.getGenre().ifPresent(genre -> {
+            predicates.add("LOWER(genre) = LOWER(?)");
+            params.add(genre);
+        });
+        // Bound as NUMERIC so the comparison stays exact against the NUMERIC(5,2) column
+        criteria.getMinPrice().ifPresent(min -> {
+            predicates.add("price >= ?");
+            params.add(BigDecimal.valueOf(min));
+        });
+        criteria.getMaxPrice().ifPresent(max -> {
+            predicates.add("price <= ?");
+            params.add(BigDecimal.valueOf(max));
+        });
+        criteria.getNameContains().ifPresent(keyword -> {
+            predicates.add("name ILIKE ?");
+            params.add(containsPattern(keyword));
+        });
+
+        StringBuilder sql = new StringBuilder(SELECT_MEDIA);
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        // Column and direction come from enums, never from user text
+        String direction = criteria.getDirection().name();
+        sql.append(" ORDER BY ").append(criteria.getSortKey().column()).append(' ').append(direction);
+        if (criteria.getSortKey() != MediaCriteria.SortKey.ID) {
+            sql.append(", id ").append(direction);
+        }
+        criteria.getLimit().ifPresent(limit -> {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        });
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    mediaList.add(mapResultSetToMedia(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to find media by criteria", e);
+        }
+
+        return mediaList;
+    }
+
+    @Override
+    public List<MediaSummary> getAllSummaries() throws DatabaseOperationException {
+        return querySummaries(SELECT_SUMMARY + " ORDER BY id", pstmt -> { },
+                "Failed to retrieve media summaries");
+    }
+
+    @Override
+    public List<MediaSummary> findSummariesByType(Media.MediaType type) throws DatabaseOperationException {
+        return querySummaries(SELECT_SUMMARY + " WHERE type = ? ORDER BY name",
+                pstmt -> pstmt.setString(1, type.name()),
+                "Failed to find media summaries by type");
+    }
+
+    @Override
+    public List<MediaSummary> findSummariesByCreator(String creator) throws DatabaseOperationException {
+        return querySummaries(SELECT_SUMMARY + " WHERE LOWER(creator) = LOWER(?) ORDER BY name",
+                pstmt -> pstmt.setString(1, creator),
+                "Failed to find media summaries by creator");
+    }
+
+    @Override
+    public List<MediaSummary> searchSummariesByName(String keyword) throws DatabaseOperationException {
+        return querySummaries(SELECT_SUMMARY + " WHERE name ILIKE ? ORDER BY name",
+                pstmt -> pstmt.setString(1, containsPattern(keyword)),
+                "Failed to search media summaries by name");
+    }
+
+    /**
+     * Run a summary query; only the shared columns are read, so no Song/Podcast objects are built
+     */
+    private List<MediaSummary> querySummaries(String sql, ParameterBinder binder, String errorMessage)
+            throws DatabaseOperationException {
+        List<MediaSummary> summaries = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            binder.bind(pstmt);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(MediaRowMapper.mapSummary(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+
+        return summaries;
+    }
+
+    @Override
+    public List<Media> search(String query, int limit) throws DatabaseOperationException {
+        List<Media> mediaList = new ArrayList<>();
+        // search_vector is a generated tsvector column backed by a GIN index (see schema.sql)
+        String sql = """
+            SELECT %s
+            FROM media, websearch_to_tsquery('simple', ?) AS query
+            WHERE search_vector @@ query
+            ORDER BY ts_rank(search_vector, query) DESC, name, id
+            LIMIT ?
+        """.formatted(MediaRowMapper.COLUMNS);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, query);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    mediaList.add(mapResultSetToMedia(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to search media", e);
+        }
+
+        return mediaList;
+    }
+
+    @Override
+    public List<Media> searchByPrefix(String prefix, int limit) throws DatabaseOperationException {
+        // 'led':* & 'ze':* - words are reduced to letters and digits, so they need no tsquery escaping
+        List<String> lexemes = new ArrayList<>();
+        for (String word : prefix.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                lexemes.add("'" + word + "':*");
+            }
+        }
+        if (lexemes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Media> mediaList = new ArrayList<>();
+        String sql = """
+            SELECT %s
+            FROM media, to_tsquery('simple', ?) AS query
+            WHERE search_vector @@ query
+            ORDER BY ts_rank(search_vector, query) DESC, name, id
+            LIMIT ?
+        """.formatted(MediaRowMapper.COLUMNS);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, String.join(" & ", lexemes));
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    mediaList.add(mapResultSetToMedia(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to search media by prefix", e);
+        }
+
+        return mediaList;
+    }
+
+    @Override
+    public Page<Media> getAllPage(String cursor, int pageSize) throws DatabaseOperationException {
+        List<Object> params = new ArrayList<>();
+        String sql = SELECT_MEDIA;
+        if (cursor != null) {
+            sql += " WHERE id > ?";
+            params.add(PageCursor.decodeId(cursor));
+        }
+        sql += " ORDER BY id LIMIT ?";
+
+        return queryPage(sql, params, pageSize, false, "Failed to retrieve media page");
+    }
+
+    @Override
+    public Page<Media> findByTypePage(Media.MediaType type, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        return seekByName("type = ?", type.name(), cursor, pageSize, "Failed to find media page by type");
+    }
+
+    @Override
+    public Page<Media> findByCreatorPage(String creator, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        return seekByName("LOWER(creator) = LOWER(?)", creator, cursor, pageSize,
+                "Failed to find media page by creator");
+    }
+
+    @Override
+    public Page<Media> searchByNamePage(String keyword, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        return seekByName("name ILIKE ?", containsPattern(keyword), cursor, pageSize,
+                "Failed to search media page by name");
+    }
+
+    /**
+     * Keyset page ordered by (name, id): rows strictly after the cursor's key, so pages
+     * stay stable when rows are inserted concurrently and no rows are skipped via OFFSET
+     */
+    private Page<Media> seekByName(String filter, Object filterValue, String cursor, int pageSize,
+                                   String errorMessage) throws DatabaseOperationException {
+        List<Object> params = new ArrayList<>();
+        params.add(filterValue);
+        String sql = SELECT_MEDIA + " WHERE " + filter;
+        if (cursor != null) {
+            PageCursor.NameKey after = PageCursor.decodeNameKey(cursor);
+            sql += " AND (name, id) > (?, ?)";
+            params.add(after.name);
+            params.add(after.id);
+        }
+        sql += " ORDER BY name, id LIMIT ?";
+
+        return queryPage(sql, params, pageSize, true, errorMessage);
+    }
+
+    /**
+     * Run a page query, fetching one extra row to detect whether another page follows
+     */
+    private Page<Media> queryPage(String sql, List<Object> params, int pageSize, boolean nameOrdered,
+                                  String errorMessage) throws DatabaseOperationException {
+        List<Media> items = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            pstmt.setInt(params.size() + 1, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapResultSetToMedia(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+
+        if (items.size() <= pageSize) {
+            return new Page<>(items, null);
+        }
+
+        items.remove(pageSize);
+        Media last = items.get(pageSize - 1);
+        String next = nameOrdered ? PageCursor.encode(last.getName(), last.getId()) : PageCursor.encode(last.getId());
+        return new Page<>(items, next);
+    }
+
     @Override
     public boolean existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator)
             throws DatabaseOperationException {
-        String sql = "SELECT COUNT(*) FROM media WHERE LOWER(name) = LOWER(?) AND type = ? AND LOWER(creator) = LOWER(?)";
+        // Matches the (LOWER(name), type, LOWER(creator)) expression index; stops at the first hit
+        String sql = """
+            SELECT EXISTS (
+                SELECT 1 FROM media
+                WHERE LOWER(name) = LOWER(?) AND type = ? AND LOWER(creator) = LOWER(?)
+            )
+        """;
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -284,7 +868,7 @@ public class MediaRepositoryImpl implements MediaRepository {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    return rs.getBoolean(1);
                 }
             }
 
@@ -295,28 +879,91 @@ public class MediaRepositoryImpl implements MediaRepository {
         return false;
     }
 
+    /**
+     * Deduplication statistics of the per-column string pools used while mapping rows
+     */
+    public List<StringPool.Stats> getStringPoolStats() {
+        return MediaRowMapper.POOLS.stream().map(StringPool::getStats).toList();
+    }
+
+    @Override
+    public List<String> findSimilarCreators(String creator, int limit) throws DatabaseOperationException {
+        List<String> creators = new ArrayList<>();
+        // % filters by pg_trgm similarity threshold (index-assisted), <-> is trigram distance
+        String sql = """
+            SELECT creator, MIN(creator <-> ?) AS distance
+            FROM media
+            WHERE creator % ?
+            GROUP BY creator
+            ORDER BY distance, creator
+            LIMIT ?
+        """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, creator);
+            pstmt.setString(2, creator);
+            pstmt.setInt(3, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    creators.add(rs.getString("creator"));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to find similar creators", e);
+        }
+
+        return creators;
+    }
+
+    @Override
+    public List<Media> findSimilar(String query, int limit) throws DatabaseOperationException {
+        List<Media> mediaList = new ArrayList<>();
+        // Each % can use its column's trigram index; the two are combined with a bitmap OR
+        String sql = """
+            SELECT %s
+            FROM media
+            WHERE name %% ? OR creator %% ?
+            ORDER BY GREATEST(similarity(name, ?), similarity(creator, ?)) DESC, id
+            LIMIT ?
+        """.formatted(MediaRowMapper.COLUMNS);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 1; i <= 4; i++) {
+                pstmt.setString(i, query);
+            }
+            pstmt.setInt(5, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    mediaList.add(MediaRowMapper.map(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to find similar media", e);
+        }
+
+        return mediaList;
+    }
+
+    /**
+     * Build an ILIKE pattern matching the keyword anywhere, with LIKE wildcards in it escaped
+     */
+    private static String containsPattern(String keyword) {
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
     /**
      * Helper method to map ResultSet to Media object (polymorphic instantiation)
      */
     private Media mapResultSetToMedia(ResultSet rs) throws SQLException {
-        int id = rs.getInt("id");
-        String name = rs.getString("name");
-        int duration = rs.getInt("duration");
-        String type = rs.getString("type");
-        String creator = rs.getString("creator");
-
-        if ("SONG".equals(type)) {
-            String album = rs.getString("album");
-            String genre = rs.getString("genre");
-            double price = rs.getDouble("price");
-            return new Song(id, name, duration, creator, album, genre, price);
-        } else if ("PODCAST".equals(type)) {
-            String host = rs.getString("host");
-            int episodeNumber = rs.getInt("episode_number");
-            String category = rs.getString("category");
-            return new Podcast(id, name, duration, creator, host, episodeNumber, category);
-        }
-
-        throw new SQLException("Unknown media type: " + type);
-    }
-}
\ No newline at end of file
+        return MediaRowMapper.map(rs);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.MediaSummary;
+import org.example.musiclibrary.model.Podcast;
+import org.example.musiclibrary.model.Song;
+import org.example.musiclibrary.utils.StringPool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Maps rows of the media table to Media objects.
+ * Shared by the repositories so any query that selects media columns
+ * (directly or through a join) can build entities without a second lookup.
+ *
+ * Low-cardinality columns (creator, genre, host, category) go through one StringPool each,
+ * so rows by the same artist or in the same genre share String instances. Albums are nearly
+ * unique per few rows and are not pooled.
+ */
+final class MediaRowMapper {
+
+    /**
+     * Columns read by map(); selected explicitly so wide derived columns
+     * (such as the full-text search_vector) are never sent over the wire
+     */
+    static final String COLUMNS = "id, name, duration, type, creator, album, genre, price, host, episode_number, category";
+
+    /**
+     * Columns read by mapSummary(): only those shared by every media type
+     */
+    static final String SUMMARY_COLUMNS = "id, name, creator, type, duration";
+
+    // One pool per column, so a large column cannot use up the room of a small one
+    static final StringPool CREATOR_POOL = new StringPool("creator", 200_000, 256);
+    static final StringPool GENRE_POOL = new StringPool("genre", 1_000, 256);
+    static final StringPool HOST_POOL = new StringPool("host", 50_000, 256);
+    static final StringPool CATEGORY_POOL = new StringPool("category", 1_000, 256);
+    static final List<StringPool> POOLS = List.of(CREATOR_POOL, GENRE_POOL, HOST_POOL, CATEGORY_POOL);
+
+    private MediaRowMapper() {
+    }
+
+    /**
+     * COLUMNS qualified with a table alias, for joins
+     */
+    static String columns(String alias) {
+        return alias + "." + COLUMNS.replace(", ", ", " + alias + ".");
+    }
+
+    /**
+     * Map the current ResultSet row to a Media object (polymorphic instantiation)
+     */
+    static Media map(ResultSet rs) throws SQLException {
+        int id = rs.getInt("id");
+        String name = rs.getString("name");
+        int duration = rs.getInt("duration");
+        String type = rs.getString("type");
+        String creator = CREATOR_POOL.intern(rs.getString("creator"));
+
+        if ("SONG".equals(type)) {
+            String album = rs.getString("album");
+            String genre = GENRE_POOL.intern(rs.getString("genre"));
+            double price = rs.getDouble("price");
+            return new Song(id, name, duration, creator, album, genre, price);
+        } else if ("PODCAST".equals(type)) {
+            String host = HOST_POOL.intern(rs.getString("host"));
+            int episodeNumber = rs.getInt("episode_number");
+            String category = CATEGORY_POOL.intern(rs.getString("category"));
+            return new Podcast(id, name, duration, creator, host, episodeNumber, category);
+        }
+
+        throw new SQLException("Unknown media type: " + type);
+    }
+
+    /**
+     * Map the current ResultSet row to a MediaSummary (needs SUMMARY_COLUMNS only)
+     */
+    static MediaSummary mapSummary(ResultSet rs) throws SQLException {
+        return new MediaSummary(
+                rs.getInt("id"),
+                rs.getString("name"),
+                CREATOR_POOL.intern(rs.getString("creator")),
+                Media.MediaType.valueOf(rs.getString("type")),
+                rs.getInt("duration"));
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.musiclibrary.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used for keyset pagination.
+ * A cursor holds the sort key of the last row of a page: either (id) or (name, id).
+ */
+final class PageCursor {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private PageCursor() {
+    }
+
+    static String encode(int id) {
+        return encodeRaw(Integer.toString(id));
+    }
+
+    static String encode(String name, int id) {
+        return encodeRaw(name + SEPARATOR + id);
+    }
+
+    /**
+     * Decode an id-only cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static int decodeId(String cursor) {
+        try {
+            return Integer.parseInt(decodeRaw(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Decode a (name, id) cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static NameKey decodeNameKey(String cursor) {
+        String raw = decodeRaw(cursor);
+        int split = raw.lastIndexOf(SEPARATOR);
+        if (split < 0) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        try {
+            return new NameKey(raw.substring(0, split), Integer.parseInt(raw.substring(split + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Decoded (name, id) sort key
+     */
+    static final class NameKey {
+        final String name;
+        final int id;
+
+        NameKey(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+}
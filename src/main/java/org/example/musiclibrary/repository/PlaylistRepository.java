@@ -1,9 +1,12 @@
 package org.example.musiclibrary.repository;
 
 import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.exception.ResourceNotFoundException;
 import org.example.musiclibrary.model.Playlist;
 import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.PlaylistSummary;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * PlaylistRepository interface extending generic CrudRepository.
@@ -12,9 +15,51 @@ import java.util.List;
 public interface PlaylistRepository extends CrudRepository<Playlist> {
 
     /**
-     * Add media to playlist
+     * How much of each playlist getAll(FetchMode) loads
      */
-    void addMediaToPlaylist(int playlistId, int mediaId) throws DatabaseOperationException;
+    enum FetchMode {
+        /** Playlists together with their ordered items, loaded in a single query */
+        EAGER,
+        /** Playlist rows only (id, name, description), items are left empty */
+        SUMMARY
+    }
+
+    /**
+     * Insert the playlist and its items unless a playlist with the same name (ignoring case) exists.
+     * The unique index detects the conflict, so concurrent creates with the same name are safe.
+     * @return The created playlist with generated ID, or empty if the name was taken
+     */
+    Optional<Playlist> createIfAbsent(Playlist entity) throws DatabaseOperationException;
+
+    /**
+     * Update name and description unless another playlist already has the new name (ignoring case).
+     * A single UPDATE: missing IDs and taken names are both reported by the statement itself.
+     * @return The updated playlist, or empty if the name was taken
+     * @throws ResourceNotFoundException if the playlist does not exist
+     */
+    Optional<Playlist> updateIfNameAvailable(int id, Playlist entity) throws ResourceNotFoundException, DatabaseOperationException;
+
+    /**
+     * Retrieve all playlists using the given fetch mode
+     */
+    List<Playlist> getAll(FetchMode mode) throws DatabaseOperationException;
+
+    /**
+     * Retrieve id, name, item count and total duration of every playlist, aggregated in SQL
+     */
+    List<PlaylistSummary> getAllSummaries() throws DatabaseOperationException;
+
+    /**
+     * Page through playlists (with their items) ordered by id
+     * @param cursor Cursor from the previous page, or null for the first page
+     */
+    Page<Playlist> getAllPage(String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Add media to playlist (no-op if already present)
+     * @throws ResourceNotFoundException if the playlist or the media does not exist
+     */
+    void addMediaToPlaylist(int playlistId, int mediaId) throws ResourceNotFoundException, DatabaseOperationException;
 
     /**
      * Remove media from playlist
@@ -4,10 +4,12 @@ import org.example.musiclibrary.exception.DatabaseOperationException;
 import org.example.musiclibrary.exception.ResourceNotFoundException;
 import org.example.musiclibrary.model.*;
 import org.example.musiclibrary.utils.DatabaseConnection;
+import org.postgresql.util.PSQLException;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementation of PlaylistRepository using JDBC.
@@ -15,48 +17,189 @@ import java.util.List;
  */
 public class PlaylistRepositoryImpl implements PlaylistRepository {
 
-    private final MediaRepositoryImpl mediaRepository = new MediaRepositoryImpl();
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String UNIQUE_VIOLATION = "23505";
 
     @Override
     public Playlist create(Playlist entity) throws DatabaseOperationException {
-        String sql = "INSERT INTO playlists (name, description) VALUES (?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setString(1, entity.getName());
-            pstmt.setString(2, entity.getDescription());
-
-            int affectedRows = pstmt.executeUpdate();
+        // Without ON CONFLICT the insert returns a row or fails with an exception
+        return insert(entity, false).orElseThrow();
+    }
 
-            if (affectedRows == 0) {
-                throw new SQLException("Creating playlist failed, no rows affected");
-            }
+    @Override
+    public Optional<Playlist> createIfAbsent(Playlist entity) throws DatabaseOperationException {
+        return insert(entity, true);
+    }
 
-            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    entity.setId(generatedKeys.getInt(1));
+    /**
+     * Insert the playlist row and its items
+     * @param ifAbsent true to skip the insert (and return empty) when the name is taken
+     */
+    private Optional<Playlist> insert(Playlist entity, boolean ifAbsent) throws DatabaseOperationException {
+        String sql = "INSERT INTO playlists (name, description) VALUES (?, ?)"
+                + (ifAbsent ? " ON CONFLICT DO NOTHING" : "") + " RETURNING id";
+
+        // The playlist row and its items are written in one transaction on one connection,
+        // so create never waits for a second pooled connection while holding the first
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setString(1, entity.getName());
+                pstmt.setString(2, entity.getDescription());
+
+                // No row returned means the name already existed
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return Optional.empty();
+                    }
+                    entity.setId(rs.getInt(1));
                 }
-            }
 
-            // Add media items if any
-            for (Media media : entity.getItems()) {
-                if (media.getId() > 0) {
-                    addMediaToPlaylist(entity.getId(), media.getId());
+                // Add media items if any
+                for (Media media : entity.getItems()) {
+                    if (media.getId() > 0) {
+                        insertItem(conn, entity.getId(), media.getId());
+                    }
                 }
+                conn.commit();
+
+            } catch (SQLException | ResourceNotFoundException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
 
-            return entity;
+            return Optional.of(entity);
 
         } catch (SQLException e) {
             throw new DatabaseOperationException("Failed to create playlist", e);
+        } catch (ResourceNotFoundException e) {
+            throw new DatabaseOperationException("Media referenced in playlist not found", e);
         }
     }
 
     @Override
     public List<Playlist> getAll() throws DatabaseOperationException {
+        return getAll(FetchMode.EAGER);
+    }
+
+    @Override
+    public List<Playlist> getAll(FetchMode mode) throws DatabaseOperationException {
+        return mode == FetchMode.SUMMARY ? getAllWithoutItems() : getAllWithItems();
+    }
+
+    /**
+     * Load every playlist and its items with one LEFT JOIN, grouping rows in memory
+     */
+    private List<Playlist> getAllWithItems() throws DatabaseOperationException {
+        List<Playlist> playlists;
+        String sql = """
+            SELECT p.id AS playlist_id, p.name AS playlist_name, p.description, %s
+            FROM playlists p
+            LEFT JOIN playlist_items pi ON pi.playlist_id = p.id
+            LEFT JOIN media m ON m.id = pi.media_id
+            ORDER BY p.id, pi.position, m.id
+        """.formatted(MediaRowMapper.columns("m"));
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            playlists = mapPlaylistsWithItems(rs);
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to retrieve all playlists", e);
+        }
+
+        return playlists;
+    }
+
+    @Override
+    public Page<Playlist> getAllPage(String cursor, int pageSize) throws DatabaseOperationException {
+        List<Playlist> playlists;
+        int afterId = cursor != null ? PageCursor.decodeId(cursor) : 0;
+        // Page over playlist rows first, then join items for just those playlists
+        String sql = """
+            WITH page AS (
+                SELECT id, name, description FROM playlists
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?
+            )
+            SELECT p.id AS playlist_id, p.name AS playlist_name, p.description, %s
+            FROM page p
+            LEFT JOIN playlist_items pi ON pi.playlist_id = p.id
+            LEFT JOIN media m ON m.id = pi.media_id
+            ORDER BY p.id, pi.position, m.id
+        """.formatted(MediaRowMapper.columns("m"));
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                playlists = mapPlaylistsWithItems(rs);
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to retrieve playlist page", e);
+        }
+
+        if (playlists.size() <= pageSize) {
+            return new Page<>(playlists, null);
+        }
+
+        playlists.remove(pageSize);
+        return new Page<>(playlists, PageCursor.encode(playlists.get(pageSize - 1).getId()));
+    }
+
+    /**
+     * Group joined playlist/media rows into playlists.
+     * Rows must be ordered by playlist, so a playlist is complete once its id changes.
+     */
+    private List<Playlist> mapPlaylistsWithItems(ResultSet rs) throws SQLException {
         List<Playlist> playlists = new ArrayList<>();
-        String sql = "SELECT * FROM playlists ORDER BY id";
+        int currentId = -1;
+        String currentName = null;
+        String currentDescription = null;
+        List<Media> items = null;
+
+        while (rs.next()) {
+            int playlistId = rs.getInt("playlist_id");
+            if (playlistId != currentId) {
+                if (items != null) {
+                    playlists.add(new Playlist(currentId, currentName, currentDescription, items));
+                }
+                currentId = playlistId;
+                currentName = rs.getString("playlist_name");
+                currentDescription = rs.getString("description");
+                items = new ArrayList<>();
+            }
+
+            // Empty playlists produce a single row with NULL media columns
+            if (rs.getObject("id") != null) {
+                items.add(MediaRowMapper.map(rs));
+            }
+        }
+
+        if (items != null) {
+            playlists.add(new Playlist(currentId, currentName, currentDescription, items));
+        }
+
+        return playlists;
+    }
+
+    /**
+     * Load playlist rows only, without touching playlist_items or media
+     */
+    private List<Playlist> getAllWithoutItems() throws DatabaseOperationException {
+        List<Playlist> playlists = new ArrayList<>();
+        String sql = "SELECT id, name, description FROM playlists ORDER BY id";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
@@ -66,20 +209,50 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
                 int id = rs.getInt("id");
                 String name = rs.getString("name");
                 String description = rs.getString("description");
-                List<Media> items = getPlaylistMedia(id);
 
-                playlists.add(new Playlist(id, name, description, items));
+                playlists.add(new Playlist(id, name, description, new ArrayList<>()));
             }
 
         } catch (SQLException e) {
-            throw new DatabaseOperationException("Failed to retrieve all playlists", e);
+            throw new DatabaseOperationException("Failed to retrieve playlist summaries", e);
         }
 
         return playlists;
     }
 
     @Override
-    public Playlist getById(int id) throws ResourceNotFoundException, DatabaseOperationException {
+    public List<PlaylistSummary> getAllSummaries() throws DatabaseOperationException {
+        List<PlaylistSummary> summaries = new ArrayList<>();
+        String sql = """
+            SELECT p.id, p.name, COUNT(m.id) AS item_count, COALESCE(SUM(m.duration), 0) AS total_duration
+            FROM playlists p
+            LEFT JOIN playlist_items pi ON pi.playlist_id = p.id
+            LEFT JOIN media m ON m.id = pi.media_id
+            GROUP BY p.id, p.name
+            ORDER BY p.id
+        """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                summaries.add(new PlaylistSummary(
+                        rs.getInt("id"),
+                        rs.getString("name"),
+                        rs.getInt("item_count"),
+                        rs.getInt("total_duration")));
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to retrieve playlist summaries", e);
+        }
+
+        return summaries;
+    }
+
+    @Override
+    public Optional<Playlist> findById(int id) throws DatabaseOperationException {
         String sql = "SELECT * FROM playlists WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -88,15 +261,14 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
             pstmt.setInt(1, id);
 
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    String name = rs.getString("name");
-                    String description = rs.getString("description");
-                    List<Media> items = getPlaylistMedia(id);
-
-                    return new Playlist(id, name, description, items);
-                } else {
-                    throw new ResourceNotFoundException("Playlist", id);
+                if (!rs.next()) {
+                    return Optional.empty();
                 }
+                String name = rs.getString("name");
+                String description = rs.getString("description");
+                List<Media> items = loadItems(conn, id);
+
+                return Optional.of(new Playlist(id, name, description, items));
             }
 
         } catch (SQLException e) {
@@ -104,12 +276,36 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
         }
     }
 
+    @Override
+    public Playlist getById(int id) throws ResourceNotFoundException, DatabaseOperationException {
+        return findById(id).orElseThrow(() -> new ResourceNotFoundException("Playlist", id));
+    }
+
     @Override
     public Playlist update(int id, Playlist entity) throws ResourceNotFoundException, DatabaseOperationException {
-        if (!exists(id)) {
-            throw new ResourceNotFoundException("Playlist", id);
+        try {
+            return executeUpdate(id, entity);
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to update playlist", e);
         }
+    }
+
+    @Override
+    public Optional<Playlist> updateIfNameAvailable(int id, Playlist entity)
+            throws ResourceNotFoundException, DatabaseOperationException {
+        try {
+            return Optional.of(executeUpdate(id, entity));
+        } catch (SQLException e) {
+            // The case-insensitive unique name index rejects the new name
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                return Optional.empty();
+            }
+            throw new DatabaseOperationException("Failed to update playlist", e);
+        }
+    }
 
+    private Playlist executeUpdate(int id, Playlist entity)
+            throws SQLException, ResourceNotFoundException, DatabaseOperationException {
         String sql = "UPDATE playlists SET name = ?, description = ? WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -119,30 +315,28 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
             pstmt.setString(2, entity.getDescription());
             pstmt.setInt(3, id);
 
-            pstmt.executeUpdate();
+            // A single statement: zero affected rows means the playlist does not exist
+            if (pstmt.executeUpdate() == 0) {
+                throw new ResourceNotFoundException("Playlist", id);
+            }
             entity.setId(id);
 
             return entity;
-
-        } catch (SQLException e) {
-            throw new DatabaseOperationException("Failed to update playlist", e);
         }
     }
 
     @Override
     public boolean delete(int id) throws ResourceNotFoundException, DatabaseOperationException {
-        if (!exists(id)) {
-            throw new ResourceNotFoundException("Playlist", id);
-        }
-
         String sql = "DELETE FROM playlists WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, id);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+            if (pstmt.executeUpdate() == 0) {
+                throw new ResourceNotFoundException("Playlist", id);
+            }
+            return true;
 
         } catch (SQLException e) {
             throw new DatabaseOperationException("Failed to delete playlist", e);
@@ -151,7 +345,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
     @Override
     public boolean exists(int id) throws DatabaseOperationException {
-        String sql = "SELECT COUNT(*) FROM playlists WHERE id = ?";
+        String sql = "SELECT EXISTS (SELECT 1 FROM playlists WHERE id = ?)";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -160,7 +354,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    return rs.getBoolean(1);
                 }
             }
 
@@ -172,18 +366,41 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
     }
 
     @Override
-    public void addMediaToPlaylist(int playlistId, int mediaId) throws DatabaseOperationException {
-        String sql = "INSERT OR IGNORE INTO playlist_items (playlist_id, media_id) VALUES (?, ?)";
+    public void addMediaToPlaylist(int playlistId, int mediaId)
+            throws ResourceNotFoundException, DatabaseOperationException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            insertItem(conn, playlistId, mediaId);
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to add media to playlist", e);
+        }
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Insert one playlist item on the caller's connection
+     * @throws ResourceNotFoundException if the playlist or the media does not exist
+     */
+    private void insertItem(Connection conn, int playlistId, int mediaId)
+            throws SQLException, ResourceNotFoundException {
+        String sql = "INSERT INTO playlist_items (playlist_id, media_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
 
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, playlistId);
             pstmt.setInt(2, mediaId);
             pstmt.executeUpdate();
 
         } catch (SQLException e) {
-            throw new DatabaseOperationException("Failed to add media to playlist", e);
+            // The foreign keys tell us which side is missing, no pre-check queries needed
+            if (FOREIGN_KEY_VIOLATION.equals(e.getSQLState()) && e instanceof PSQLException psql
+                    && psql.getServerErrorMessage() != null) {
+                String constraint = psql.getServerErrorMessage().getConstraint();
+                if ("fk_playlist".equals(constraint)) {
+                    throw new ResourceNotFoundException("Playlist", playlistId);
+                }
+                if ("fk_media".equals(constraint)) {
+                    throw new ResourceNotFoundException("Media", mediaId);
+                }
+            }
+            throw e;
         }
     }
 
@@ -205,32 +422,34 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
     @Override
     public List<Media> getPlaylistMedia(int playlistId) throws DatabaseOperationException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return loadItems(conn, playlistId);
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to get playlist media", e);
+        }
+    }
+
+    /**
+     * Load a playlist's items on the caller's connection (never borrows a second one)
+     */
+    private List<Media> loadItems(Connection conn, int playlistId) throws SQLException {
         List<Media> mediaList = new ArrayList<>();
         String sql = """
-            SELECT m.* FROM media m
+            SELECT %s FROM media m
             INNER JOIN playlist_items pi ON m.id = pi.media_id
             WHERE pi.playlist_id = ?
             ORDER BY pi.position, m.id
-        """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        """.formatted(MediaRowMapper.columns("m"));
 
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, playlistId);
 
+            // Items are built straight from the joined media columns: one query per playlist
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    int id = rs.getInt("id");
-                    Media media = mediaRepository.getById(id);
-                    mediaList.add(media);
+                    mediaList.add(MediaRowMapper.map(rs));
                 }
             }
-
-        } catch (SQLException e) {
-            throw new DatabaseOperationException("Failed to get playlist media", e);
-        } catch (ResourceNotFoundException e) {
-            // This shouldn't happen if database integrity is maintained
-            throw new DatabaseOperationException("Media referenced in playlist not found", e);
         }
 
         return mediaList;
@@ -238,7 +457,8 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
     @Override
     public boolean existsByName(String name) throws DatabaseOperationException {
-        String sql = "SELECT COUNT(*) FROM playlists WHERE LOWER(name) = LOWER(?)";
+        // Served by the LOWER(name) expression index
+        String sql = "SELECT EXISTS (SELECT 1 FROM playlists WHERE LOWER(name) = LOWER(?))";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -247,7 +467,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    return rs.getBoolean(1);
                 }
             }
 
@@ -272,7 +492,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
                     int id = rs.getInt("id");
                     String playlistName = rs.getString("name");
                     String description = rs.getString("description");
-                    List<Media> items = getPlaylistMedia(id);
+                    List<Media> items = loadItems(conn, id);
 
                     return new Playlist(id, playlistName, description, items);
                 }
@@ -284,4 +504,4 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
         return null;
     }
-}
\ No newline at end of file
+}
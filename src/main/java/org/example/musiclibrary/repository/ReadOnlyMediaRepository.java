@@ -0,0 +1,141 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.MediaSummary;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read operations on media, shared by the database repository and read-only sources
+ * such as {@link SegmentMediaRepository}.
+ * Demonstrates ISP: read-only implementations are not forced to stub out writes.
+ */
+public interface ReadOnlyMediaRepository extends ReadOnlyRepository<Media> {
+
+    /**
+     * Rows fetched per round trip by the scan methods
+     */
+    int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Maximum number of IDs sent in one getByIds query; larger inputs are split
+     */
+    int MAX_IDS_PER_QUERY = 1000;
+
+    /**
+     * Retrieve many media items by ID with one WHERE id = ANY(?) query per chunk.
+     * Found items keep the requested order (duplicates included); unknown IDs are
+     * reported in the result instead of throwing.
+     */
+    LookupResult<Media> getByIds(Collection<Integer> ids) throws DatabaseOperationException;
+
+    /**
+     * Stream every media row (ordered by id) to the consumer in constant memory.
+     * Rows are read through a server-side cursor, DEFAULT_FETCH_SIZE at a time.
+     * @return Number of rows passed to the consumer
+     */
+    long scanAll(Consumer<? super Media> consumer) throws DatabaseOperationException;
+
+    /**
+     * Stream media of one type (ordered by name) to the consumer in constant memory
+     * @return Number of rows passed to the consumer
+     */
+    long scanByType(Media.MediaType type, Consumer<? super Media> consumer) throws DatabaseOperationException;
+
+    /**
+     * Find media by type
+     */
+    List<Media> findByType(Media.MediaType type) throws DatabaseOperationException;
+
+    /**
+     * Find media by creator
+     */
+    List<Media> findByCreator(String creator) throws DatabaseOperationException;
+
+    /**
+     * Search media by name
+     */
+    List<Media> searchByName(String keyword) throws DatabaseOperationException;
+
+    /**
+     * Full-text search over name, creator, album, host and category, best matches first.
+     * The query accepts web-search syntax: words, "quoted phrases", OR and -exclusions.
+     * @param limit Maximum number of results
+     */
+    List<Media> search(String query, int limit) throws DatabaseOperationException;
+
+    /**
+     * Prefix search for typeahead: every word of the input must start a word of the name,
+     * creator, album, host or category, so "Led Ze" finds "Led Zeppelin". Best matches first.
+     * @param limit Maximum number of results
+     */
+    List<Media> searchByPrefix(String prefix, int limit) throws DatabaseOperationException;
+
+    /**
+     * Find media matching every filter set in the criteria, sorted and limited as specified.
+     * Compiled to a single parameterized query; filters use the same indexed predicates as
+     * the dedicated finders (type, LOWER(creator), trigram ILIKE on name).
+     */
+    List<Media> findByCriteria(MediaCriteria criteria) throws DatabaseOperationException;
+
+    /**
+     * Summary variant of getAll(): id, name, creator, type and duration only, ordered by id
+     */
+    List<MediaSummary> getAllSummaries() throws DatabaseOperationException;
+
+    /**
+     * Summary variant of findByType()
+     */
+    List<MediaSummary> findSummariesByType(Media.MediaType type) throws DatabaseOperationException;
+
+    /**
+     * Summary variant of findByCreator()
+     */
+    List<MediaSummary> findSummariesByCreator(String creator) throws DatabaseOperationException;
+
+    /**
+     * Summary variant of searchByName()
+     */
+    List<MediaSummary> searchSummariesByName(String keyword) throws DatabaseOperationException;
+
+    /**
+     * Page through all media ordered by id
+     * @param cursor Cursor from the previous page, or null for the first page
+     */
+    Page<Media> getAllPage(String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Page through media of one type ordered by name
+     */
+    Page<Media> findByTypePage(Media.MediaType type, String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Page through media by creator ordered by name
+     */
+    Page<Media> findByCreatorPage(String creator, String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Page through media whose name contains the keyword, ordered by name
+     */
+    Page<Media> searchByNamePage(String keyword, String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Find distinct creator names similar to the given one (trigram similarity), closest first.
+     * Useful for "did you mean" suggestions on misspelled artists.
+     */
+    List<String> findSimilarCreators(String creator, int limit) throws DatabaseOperationException;
+
+    /**
+     * Find media whose name or creator is similar to the query (trigram similarity), most similar first.
+     * Tolerates typos without an in-memory index.
+     */
+    List<Media> findSimilar(String query, int limit) throws DatabaseOperationException;
+
+    /**
+     * Check if media exists by name, type, and creator
+     */
+    boolean existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator)
+            throws DatabaseOperationException;
+}
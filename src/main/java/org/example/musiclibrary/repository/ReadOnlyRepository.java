@@ -0,0 +1,47 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.exception.ResourceNotFoundException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generic read-only repository interface.
+ * Follows ISP: clients and sources that only read (e.g. a memory-mapped catalog)
+ * depend on these operations without inheriting writes they cannot support.
+ * Type parameter T represents the entity type.
+ */
+public interface ReadOnlyRepository<T> {
+
+    /**
+     * Retrieve all entities from the database
+     * @return List of all entities
+     * @throws DatabaseOperationException if retrieval fails
+     */
+    List<T> getAll() throws DatabaseOperationException;
+
+    /**
+     * Look up an entity by its ID; a miss is a normal result, not an exception
+     * @param id The entity ID
+     * @return The entity, or empty if it does not exist
+     * @throws DatabaseOperationException if retrieval fails
+     */
+    Optional<T> findById(int id) throws DatabaseOperationException;
+
+    /**
+     * Retrieve an entity by its ID (for callers that treat a miss as an error)
+     * @param id The entity ID
+     * @return The entity if found
+     * @throws ResourceNotFoundException if entity not found
+     * @throws DatabaseOperationException if retrieval fails
+     */
+    T getById(int id) throws ResourceNotFoundException, DatabaseOperationException;
+
+    /**
+     * Check if an entity exists by ID
+     * @param id The entity ID
+     * @return true if exists
+     * @throws DatabaseOperationException if check fails
+     */
+    boolean exists(int id) throws DatabaseOperationException;
+}
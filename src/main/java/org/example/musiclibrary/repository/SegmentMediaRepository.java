@@ -0,0 +1,541 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.ResourceNotFoundException;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.MediaSummary;
+import org.example.musiclibrary.model.Song;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only media repository served from a memory-mapped {@link CatalogSegment}.
+ * Lets a node start with the full catalog without loading it through getAll().
+ * It implements only the read side (ISP), so it can stand in for MediaRepositoryImpl
+ * wherever a {@link ReadOnlyMediaRepository} is expected.
+ *
+ * Lookups by id binary search the segment's id index; filters read only the fields they test
+ * and decode a full record just for rows that match. Name-ordered results use the segment's
+ * (name, id) index, which sorts case-insensitively in Java order rather than by database
+ * collation. Full-text search and similar-creator lookups are approximated in memory.
+ */
+public class SegmentMediaRepository implements ReadOnlyMediaRepository {
+
+    // pg_trgm's default similarity threshold, so findSimilarCreators behaves like the SQL version
+    private static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private final CatalogSegment segment;
+
+    public SegmentMediaRepository(CatalogSegment segment) {
+        this.segment = segment;
+    }
+
+    // ==================== LOOKUPS ====================
+
+    @Override
+    public Optional<Media> findById(int id) {
+        return segment.findMedia(id);
+    }
+
+    @Override
+    public Media getById(int id) throws ResourceNotFoundException {
+        return findById(id).orElseThrow(() -> new ResourceNotFoundException("Media", id));
+    }
+
+    @Override
+    public LookupResult<Media> getByIds(Collection<Integer> ids) {
+        List<Media> found = new ArrayList<>(ids.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            long record = segment.findMediaRecord(id);
+            if (record >= 0) {
+                found.add(segment.mediaAt(record));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new LookupResult<>(found, missing);
+    }
+
+    @Override
+    public boolean exists(int id) {
+        return segment.findMediaRecord(id) >= 0;
+    }
+
+    @Override
+    public boolean existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator) {
+        String key = name.toLowerCase(Locale.ROOT);
+        int count = segment.getMediaCount();
+
+        // The name index is ordered by lower-cased name first, so equal names are adjacent
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowerNameAt(mid).compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int rank = low; rank < count && lowerNameAt(rank).equals(key); rank++) {
+            long record = segment.mediaRecordByName(rank);
+            if (segment.typeAt(record) == type && segment.creatorAt(record).equalsIgnoreCase(creator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== LISTINGS ====================
+
+    @Override
+    public List<Media> getAll() {
+        List<Media> mediaList = new ArrayList<>(segment.getMediaCount());
+        scanAll(mediaList::add);
+        return mediaList;
+    }
+
+    @Override
+    public long scanAll(Consumer<? super Media> consumer) {
+        int count = segment.getMediaCount();
+        for (int row = 0; row < count; row++) {
+            consumer.accept(segment.mediaAt(segment.mediaRecordById(row)));
+        }
+        return count;
+    }
+
+    @Override
+    public long scanByType(Media.MediaType type, Consumer<? super Media> consumer) {
+        long rows = 0;
+        int count = segment.getMediaCount();
+        for (int rank = 0; rank < count; rank++) {
+            long record = segment.mediaRecordByName(rank);
+            if (segment.typeAt(record) == type) {
+                consumer.accept(segment.mediaAt(record));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Media> findByType(Media.MediaType type) {
+        return findByName(record -> segment.typeAt(record) == type);
+    }
+
+    @Override
+    public List<Media> findByCreator(String creator) {
+        return findByName(record -> segment.creatorAt(record).equalsIgnoreCase(creator));
+    }
+
+    @Override
+    public List<Media> searchByName(String keyword) {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        return findByName(record -> containsLower(segment.nameAt(record), lowerKeyword));
+    }
+
+    /**
+     * Media whose name or creator contains every word of the query, in name order
+     * (the database ranks with full-text search instead)
+     */
+    @Override
+    public List<Media> search(String query, int limit) {
+        String[] words = query.toLowerCase(Locale.ROOT).strip().split("\\s+");
+        List<Media> mediaList = new ArrayList<>();
+        int count = segment.getMediaCount();
+        for (int rank = 0; rank < count && mediaList.size() < limit; rank++) {
+            long record = segment.mediaRecordByName(rank);
+            String name = segment.nameAt(record).toLowerCase(Locale.ROOT);
+            String creator = segment.creatorAt(record).toLowerCase(Locale.ROOT);
+            boolean matches = true;
+            for (String word : words) {
+                if (!name.contains(word) && !creator.contains(word)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                mediaList.add(segment.mediaAt(record));
+            }
+        }
+        return mediaList;
+    }
+
+    /**
+     * Media where every query word starts a word of the name or creator, in name order
+     */
+    @Override
+    public List<Media> searchByPrefix(String prefix, int limit) {
+        String[] prefixes = words(prefix);
+        List<Media> mediaList = new ArrayList<>();
+        if (prefixes.length == 0) {
+            return mediaList;
+        }
+        int count = segment.getMediaCount();
+        for (int rank = 0; rank < count && mediaList.size() < limit; rank++) {
+            long record = segment.mediaRecordByName(rank);
+            String[] words = words(segment.nameAt(record) + " " + segment.creatorAt(record));
+            boolean matches = true;
+            for (String wanted : prefixes) {
+                boolean found = false;
+                for (String word : words) {
+                    if (word.startsWith(wanted)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                mediaList.add(segment.mediaAt(record));
+            }
+        }
+        return mediaList;
+    }
+
+    @Override
+    public List<Media> findByCriteria(MediaCriteria criteria) {
+        LongPredicate filter = filterFor(criteria);
+        List<Media> mediaList = new ArrayList<>();
+        for (int row = 0; row < segment.getMediaCount(); row++) {
+            long record = segment.mediaRecordById(row);
+            if (filter.test(record)) {
+                mediaList.add(segment.mediaAt(record));
+            }
+        }
+
+        mediaList.sort(comparatorFor(criteria));
+        int limit = criteria.getLimit().orElse(mediaList.size());
+        return mediaList.size() <= limit ? mediaList : new ArrayList<>(mediaList.subList(0, limit));
+    }
+
+    // ==================== SUMMARIES ====================
+
+    @Override
+    public List<MediaSummary> getAllSummaries() {
+        List<MediaSummary> summaries = new ArrayList<>(segment.getMediaCount());
+        for (int row = 0; row < segment.getMediaCount(); row++) {
+            summaries.add(summaryAt(segment.mediaRecordById(row)));
+        }
+        return summaries;
+    }
+
+    @Override
+    public List<MediaSummary> findSummariesByType(Media.MediaType type) {
+        return summariesByName(record -> segment.typeAt(record) == type);
+    }
+
+    @Override
+    public List<MediaSummary> findSummariesByCreator(String creator) {
+        return summariesByName(record -> segment.creatorAt(record).equalsIgnoreCase(creator));
+    }
+
+    @Override
+    public List<MediaSummary> searchSummariesByName(String keyword) {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        return summariesByName(record -> containsLower(segment.nameAt(record), lowerKeyword));
+    }
+
+    // ==================== PAGES ====================
+
+    @Override
+    public Page<Media> getAllPage(String cursor, int pageSize) {
+        int row = cursor == null ? 0 : segment.firstMediaRowAfter(PageCursor.decodeId(cursor));
+        int end = Math.min(segment.getMediaCount(), row + pageSize);
+
+        List<Media> items = new ArrayList<>(Math.max(end - row, 0));
+        for (; row < end; row++) {
+            items.add(segment.mediaAt(segment.mediaRecordById(row)));
+        }
+        if (row >= segment.getMediaCount() || items.isEmpty()) {
+            return new Page<>(items, null);
+        }
+        return new Page<>(items, PageCursor.encode(items.get(items.size() - 1).getId()));
+    }
+
+    @Override
+    public Page<Media> findByTypePage(Media.MediaType type, String cursor, int pageSize) {
+        return pageByName(record -> segment.typeAt(record) == type, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> findByCreatorPage(String creator, String cursor, int pageSize) {
+        return pageByName(record -> segment.creatorAt(record).equalsIgnoreCase(creator), cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> searchByNamePage(String keyword, String cursor, int pageSize) {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        return pageByName(record -> containsLower(segment.nameAt(record), lowerKeyword), cursor, pageSize);
+    }
+
+    /**
+     * Distinct creators by trigram similarity to the given name, most similar first
+     */
+    @Override
+    public List<String> findSimilarCreators(String creator, int limit) {
+        Set<String> target = trigrams(creator);
+        Map<String, Double> similarities = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int row = 0; row < segment.getMediaCount(); row++) {
+            String candidate = segment.creatorAt(segment.mediaRecordById(row));
+            if (seen.add(candidate)) {
+                double similarity = similarity(target, trigrams(candidate));
+                if (similarity >= SIMILARITY_THRESHOLD) {
+                    similarities.put(candidate, similarity);
+                }
+            }
+        }
+
+        return similarities.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(Math.max(limit, 0))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Media by the higher trigram similarity of name and creator to the query, most similar first
+     */
+    @Override
+    public List<Media> findSimilar(String query, int limit) {
+        Set<String> target = trigrams(query);
+        // Creators repeat across rows, so each distinct one is scored once
+        Map<String, Double> creatorSimilarities = new HashMap<>();
+        Map<Long, Double> similarities = new HashMap<>();
+        for (int row = 0; row < segment.getMediaCount(); row++) {
+            long record = segment.mediaRecordById(row);
+            double similarity = Math.max(similarity(target, trigrams(segment.nameAt(record))),
+                    creatorSimilarities.computeIfAbsent(segment.creatorAt(record),
+                            creator -> similarity(target, trigrams(creator))));
+            if (similarity >= SIMILARITY_THRESHOLD) {
+                similarities.put(record, similarity);
+            }
+        }
+
+        // Ties in id order, like the SQL version
+        return similarities.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparingInt(entry -> segment.idAt(entry.getKey())))
+                .limit(Math.max(limit, 0))
+                .map(entry -> segment.mediaAt(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    public CatalogSegment getSegment() {
+        return segment;
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentMediaRepository[" + segment + "]";
+    }
+
+    // ==================== HELPERS ====================
+
+    private List<Media> findByName(LongPredicate filter) {
+        List<Media> mediaList = new ArrayList<>();
+        for (int rank = 0; rank < segment.getMediaCount(); rank++) {
+            long record = segment.mediaRecordByName(rank);
+            if (filter.test(record)) {
+                mediaList.add(segment.mediaAt(record));
+            }
+        }
+        return mediaList;
+    }
+
+    private List<MediaSummary> summariesByName(LongPredicate filter) {
+        List<MediaSummary> summaries = new ArrayList<>();
+        for (int rank = 0; rank < segment.getMediaCount(); rank++) {
+            long record = segment.mediaRecordByName(rank);
+            if (filter.test(record)) {
+                summaries.add(summaryAt(record));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Keyset page over the (name, id) index: matching rows strictly after the cursor's key
+     */
+    private Page<Media> pageByName(LongPredicate filter, String cursor, int pageSize) {
+        int count = segment.getMediaCount();
+        int rank = 0;
+        if (cursor != null) {
+            PageCursor.NameKey after = PageCursor.decodeNameKey(cursor);
+            int high = count;
+            while (rank < high) {
+                int mid = (rank + high) >>> 1;
+                if (compareToKey(segment.mediaRecordByName(mid), after) <= 0) {
+                    rank = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+
+        // Fetch one extra match to detect whether another page follows
+        List<Media> items = new ArrayList<>();
+        for (; rank < count && items.size() <= pageSize; rank++) {
+            long record = segment.mediaRecordByName(rank);
+            if (filter.test(record)) {
+                items.add(segment.mediaAt(record));
+            }
+        }
+
+        if (items.size() <= pageSize) {
+            return new Page<>(items, null);
+        }
+        items.remove(pageSize);
+        Media last = items.get(pageSize - 1);
+        return new Page<>(items, PageCursor.encode(last.getName(), last.getId()));
+    }
+
+    private int compareToKey(long record, PageCursor.NameKey key) {
+        int byName = CatalogSegmentWriter.NAME_ORDER.compare(segment.nameAt(record), key.name);
+        return byName != 0 ? byName : Integer.compare(segment.idAt(record), key.id);
+    }
+
+    private String lowerNameAt(int rank) {
+        return segment.nameAt(segment.mediaRecordByName(rank)).toLowerCase(Locale.ROOT);
+    }
+
+    private MediaSummary summaryAt(long record) {
+        return new MediaSummary(segment.idAt(record), segment.nameAt(record), segment.creatorAt(record),
+                segment.typeAt(record), segment.durationAt(record));
+    }
+
+    /**
+     * Same predicates as the SQL built by MediaRepositoryImpl.findByCriteria; genre and price only match songs
+     */
+    /**
+     * Record filter of the criteria, reading only the tested fields; the fixed-offset
+     * type and duration are tested before any string is decoded
+     */
+    private LongPredicate filterFor(MediaCriteria criteria) {
+        LongPredicate filter = record -> true;
+        Optional<Media.MediaType> type = criteria.getType();
+        if (type.isPresent()) {
+            filter = filter.and(record -> segment.typeAt(record) == type.get());
+        }
+        Optional<Integer> minDuration = criteria.getMinDuration();
+        if (minDuration.isPresent()) {
+            filter = filter.and(record -> segment.durationAt(record) >= minDuration.get());
+        }
+        Optional<Integer> maxDuration = criteria.getMaxDuration();
+        if (maxDuration.isPresent()) {
+            filter = filter.and(record -> segment.durationAt(record) <= maxDuration.get());
+        }
+        Optional<Double> minPrice = criteria.getMinPrice();
+        if (minPrice.isPresent()) {
+            filter = filter.and(record -> segment.typeAt(record) == Media.MediaType.SONG
+                    && segment.priceAt(record) >= minPrice.get());
+        }
+        Optional<Double> maxPrice = criteria.getMaxPrice();
+        if (maxPrice.isPresent()) {
+            filter = filter.and(record -> segment.typeAt(record) == Media.MediaType.SONG
+                    && segment.priceAt(record) <= maxPrice.get());
+        }
+        Optional<String> creator = criteria.getCreator();
+        if (creator.isPresent()) {
+            filter = filter.and(record -> segment.creatorAt(record).equalsIgnoreCase(creator.get()));
+        }
+        Optional<String> genre = criteria.getGenre();
+        if (genre.isPresent()) {
+            filter = filter.and(record -> genre.get().equalsIgnoreCase(segment.genreAt(record)));
+        }
+        Optional<String> nameContains = criteria.getNameContains();
+        if (nameContains.isPresent()) {
+            String lowerKeyword = nameContains.get().toLowerCase(Locale.ROOT);
+            filter = filter.and(record -> containsLower(segment.nameAt(record), lowerKeyword));
+        }
+        return filter;
+    }
+
+    /**
+     * Sort order of the criteria with id as tie-breaker; missing prices sort last ascending, first descending
+     */
+    private static Comparator<Media> comparatorFor(MediaCriteria criteria) {
+        Comparator<Media> order;
+        switch (criteria.getSortKey()) {
+            case NAME:
+                order = Comparator.comparing(Media::getName, CatalogSegmentWriter.NAME_ORDER);
+                break;
+            case CREATOR:
+                order = Comparator.comparing(Media::getCreator, CatalogSegmentWriter.NAME_ORDER);
+                break;
+            case DURATION:
+                order = Comparator.comparingInt(Media::getDuration);
+                break;
+            case PRICE:
+                order = Comparator.comparing(media -> media instanceof Song ? ((Song) media).getPrice() : null,
+                        Comparator.nullsLast(Comparator.<Double>naturalOrder()));
+                break;
+            default:
+                order = Comparator.comparingInt(Media::getId);
+                break;
+        }
+        order = order.thenComparingInt(Media::getId);
+        return criteria.getDirection() == MediaCriteria.Direction.DESC ? order.reversed() : order;
+    }
+
+    private static boolean containsLower(String value, String lowerKeyword) {
+        return value.toLowerCase(Locale.ROOT).contains(lowerKeyword);
+    }
+
+    /**
+     * Lower-cased words of letters and digits, split like the 'simple' text search configuration
+     */
+    private static String[] words(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Trigrams of each lower-cased word, padded like pg_trgm (two spaces before, one after)
+     */
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String gram : a) {
+            if (b.contains(gram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+}
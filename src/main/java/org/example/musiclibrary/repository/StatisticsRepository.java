@@ -0,0 +1,42 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.CreatorStats;
+import org.example.musiclibrary.model.GroupStats;
+import org.example.musiclibrary.model.LibraryStats;
+
+import java.util.List;
+
+/**
+ * Read-only aggregate queries over the media catalog.
+ * Demonstrates DIP: defines contract for statistics without exposing SQL.
+ * Every method aggregates in the database and returns small DTOs, never rows.
+ */
+public interface StatisticsRepository {
+
+    /**
+     * Counts, total/average duration and song price totals in one pass over media
+     */
+    LibraryStats getLibraryStats() throws DatabaseOperationException;
+
+    /**
+     * Media count and duration per type, largest group first
+     */
+    List<GroupStats> countByType() throws DatabaseOperationException;
+
+    /**
+     * Song count and duration per genre (songs without a genre are skipped), largest group first
+     */
+    List<GroupStats> countByGenre() throws DatabaseOperationException;
+
+    /**
+     * Podcast count and duration per category (podcasts without a category are skipped), largest group first
+     */
+    List<GroupStats> countByCategory() throws DatabaseOperationException;
+
+    /**
+     * Creators with the most media items, ties broken by total duration
+     * @param limit Maximum number of creators
+     */
+    List<CreatorStats> topCreators(int limit) throws DatabaseOperationException;
+}
@@ -0,0 +1,141 @@
+package org.example.musiclibrary.repository;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.CreatorStats;
+import org.example.musiclibrary.model.GroupStats;
+import org.example.musiclibrary.model.LibraryStats;
+import org.example.musiclibrary.utils.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of StatisticsRepository using JDBC.
+ * Follows SRP: Handles only aggregate queries; the rows themselves never leave the database.
+ */
+public class StatisticsRepositoryImpl implements StatisticsRepository {
+
+    @Override
+    public LibraryStats getLibraryStats() throws DatabaseOperationException {
+        String sql = """
+            SELECT COUNT(*) AS media_count,
+                   COUNT(*) FILTER (WHERE type = 'SONG') AS song_count,
+                   COUNT(*) FILTER (WHERE type = 'PODCAST') AS podcast_count,
+                   COALESCE(SUM(duration), 0) AS total_duration,
+                   COALESCE(AVG(duration), 0) AS average_duration,
+                   COALESCE(SUM(price) FILTER (WHERE type = 'SONG'), 0) AS total_song_price,
+                   COALESCE(AVG(price) FILTER (WHERE type = 'SONG'), 0) AS average_song_price
+            FROM media
+        """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            rs.next();
+            return new LibraryStats(
+                    rs.getLong("media_count"),
+                    rs.getLong("song_count"),
+                    rs.getLong("podcast_count"),
+                    rs.getLong("total_duration"),
+                    rs.getDouble("average_duration"),
+                    money(rs.getBigDecimal("total_song_price")),
+                    money(rs.getBigDecimal("average_song_price")));
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to compute library statistics", e);
+        }
+    }
+
+    @Override
+    public List<GroupStats> countByType() throws DatabaseOperationException {
+        return groupBy("type", "TRUE", "Failed to count media by type");
+    }
+
+    @Override
+    public List<GroupStats> countByGenre() throws DatabaseOperationException {
+        return groupBy("genre", "type = 'SONG' AND genre IS NOT NULL", "Failed to count songs by genre");
+    }
+
+    @Override
+    public List<GroupStats> countByCategory() throws DatabaseOperationException {
+        return groupBy("category", "type = 'PODCAST' AND category IS NOT NULL",
+                "Failed to count podcasts by category");
+    }
+
+    @Override
+    public List<CreatorStats> topCreators(int limit) throws DatabaseOperationException {
+        List<CreatorStats> creators = new ArrayList<>();
+        String sql = """
+            SELECT creator, COUNT(*) AS media_count, SUM(duration) AS total_duration
+            FROM media
+            GROUP BY creator
+            ORDER BY media_count DESC, total_duration DESC, creator
+            LIMIT ?
+        """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    creators.add(new CreatorStats(
+                            rs.getString("creator"),
+                            rs.getLong("media_count"),
+                            rs.getLong("total_duration")));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Failed to find top creators", e);
+        }
+
+        return creators;
+    }
+
+    /**
+     * Group media by a column (a fixed column name, never user input)
+     */
+    private List<GroupStats> groupBy(String column, String filter, String errorMessage)
+            throws DatabaseOperationException {
+        List<GroupStats> groups = new ArrayList<>();
+        String sql = """
+            SELECT %1$s AS group_key, COUNT(*) AS media_count,
+                   SUM(duration) AS total_duration, AVG(duration) AS average_duration
+            FROM media
+            WHERE %2$s
+            GROUP BY %1$s
+            ORDER BY media_count DESC, group_key
+        """.formatted(column, filter);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                groups.add(new GroupStats(
+                        rs.getString("group_key"),
+                        rs.getLong("media_count"),
+                        rs.getLong("total_duration"),
+                        rs.getDouble("average_duration")));
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+
+        return groups;
+    }
+
+    private static BigDecimal money(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.musiclibrary.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, memory-mapped prefix completion index for titles and creator names.
+ * The file is produced by {@link AutocompleteIndexBuilder}; see there for the layout.
+ *
+ * Lookups walk the radix trie along the prefix bytes and return the completions
+ * precomputed at the node reached, so cost depends on prefix length, not catalog size.
+ * The data stays in the OS page cache instead of the Java heap.
+ */
+public class AutocompleteIndex {
+
+    private final ByteBuffer buffer;
+    private final int termCount;
+    private final int topK;
+    private final int rootOffset;
+    private final int termTableOffset;
+
+    private AutocompleteIndex(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != AutocompleteIndexBuilder.MAGIC) {
+            throw new IOException("Not an autocomplete index file");
+        }
+        if (buffer.getInt(4) != AutocompleteIndexBuilder.VERSION) {
+            throw new IOException("Unsupported autocomplete index version: " + buffer.getInt(4));
+        }
+        this.termCount = buffer.getInt(8);
+        this.topK = buffer.getInt(12);
+        this.rootOffset = buffer.getInt(16);
+        this.termTableOffset = buffer.getInt(20);
+    }
+
+    /**
+     * Memory-map an index file (read-only)
+     */
+    public static AutocompleteIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new AutocompleteIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Best-weighted completions of a prefix (case and diacritics insensitive)
+     * @param limit Maximum number of completions; capped at the topK the file was built with
+     */
+    public List<String> complete(String prefix, int limit) {
+        byte[] key = Tokenizer.normalize(prefix == null ? "" : prefix.strip()).getBytes(StandardCharsets.UTF_8);
+        int node = rootOffset;
+        int i = 0;
+
+        while (i < key.length) {
+            int child = findChild(node, key[i]);
+            if (child < 0) {
+                return List.of();
+            }
+
+            int labelLength = Short.toUnsignedInt(buffer.getShort(child));
+            int compare = Math.min(labelLength, key.length - i);
+            for (int j = 0; j < compare; j++) {
+                if (buffer.get(child + Short.BYTES + j) != key[i + j]) {
+                    return List.of();
+                }
+            }
+
+            node = child;
+            i += compare;
+        }
+
+        return topCompletions(node, Math.min(limit, topK));
+    }
+
+    public int getTermCount() {
+        return termCount;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Size of the mapped file in bytes
+     */
+    public long getSizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Binary search the child whose label starts with the given byte, or -1
+     */
+    private int findChild(int node, byte first) {
+        int childrenStart = childrenOffset(node);
+        int count = Short.toUnsignedInt(buffer.getShort(childrenStart));
+        int entries = childrenStart + Short.BYTES;
+        int wanted = Byte.toUnsignedInt(first);
+
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = entries + mid * (1 + Integer.BYTES);
+            int value = Byte.toUnsignedInt(buffer.get(entry));
+            if (value < wanted) {
+                low = mid + 1;
+            } else if (value > wanted) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(entry + 1);
+            }
+        }
+        return -1;
+    }
+
+    private int childrenOffset(int node) {
+        int labelLength = Short.toUnsignedInt(buffer.getShort(node));
+        int topStart = node + Short.BYTES + labelLength;
+        int topCount = Byte.toUnsignedInt(buffer.get(topStart));
+        return topStart + 1 + topCount * Integer.BYTES;
+    }
+
+    private List<String> topCompletions(int node, int limit) {
+        int labelLength = Short.toUnsignedInt(buffer.getShort(node));
+        int topStart = node + Short.BYTES + labelLength;
+        int count = Math.min(Byte.toUnsignedInt(buffer.get(topStart)), Math.max(limit, 0));
+
+        List<String> completions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int termId = buffer.getInt(topStart + 1 + i * Integer.BYTES);
+            completions.add(readTerm(termId));
+        }
+        return completions;
+    }
+
+    private String readTerm(int termId) {
+        int record = buffer.getInt(termTableOffset + termId * Integer.BYTES);
+        int length = Short.toUnsignedInt(buffer.getShort(record + Integer.BYTES));
+        byte[] bytes = new byte[length];
+        buffer.get(record + Integer.BYTES + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AutocompleteIndex: %d terms, top %d, %d KB mapped",
+                termCount, topK, buffer.capacity() / 1024);
+    }
+}
@@ -0,0 +1,276 @@
+package org.example.musiclibrary.search;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.repository.ReadOnlyMediaRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the file read by {@link AutocompleteIndex} (offline, e.g. from a nightly job).
+ *
+ * Terms are normalized with {@link Tokenizer#normalize}, merged (weights add up) and
+ * stored in a radix trie over their UTF-8 bytes. Every trie node stores the ids of the
+ * best-weighted completions below it, so a lookup only walks the prefix and never
+ * enumerates the subtree.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header : int magic, int version, int termCount, int topK, int rootOffset, int termTableOffset
+ * terms  : per term: int weight, ushort length, UTF-8 display bytes
+ * table  : termCount x int offset of each term record
+ * nodes  : ushort labelLength, label bytes, ubyte topCount, topCount x int termId,
+ *          ushort childCount, childCount x (byte firstLabelByte, int childOffset) sorted by unsigned byte
+ * </pre>
+ */
+public class AutocompleteIndexBuilder {
+
+    static final int MAGIC = 0x4D4C4143; // "MLAC"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    private static final int MAX_TERM_BYTES = 1024;
+
+    private final int topK;
+    // normalized key -> term; the first spelling seen is used for display
+    private final Map<String, Term> terms = new HashMap<>();
+
+    /**
+     * @param topK Number of completions precomputed per trie node (the maximum lookup limit)
+     */
+    public AutocompleteIndexBuilder(int topK) {
+        if (topK <= 0 || topK > 255) {
+            throw new IllegalArgumentException("topK must be between 1 and 255");
+        }
+        this.topK = topK;
+    }
+
+    /**
+     * Collect every media name and creator from a streaming scan of the repository.
+     * A term's weight is the number of media rows it appears in.
+     */
+    public static AutocompleteIndexBuilder fromRepository(ReadOnlyMediaRepository mediaRepository, int topK)
+            throws DatabaseOperationException {
+        AutocompleteIndexBuilder builder = new AutocompleteIndexBuilder(topK);
+        mediaRepository.scanAll(media -> {
+            builder.add(media.getName(), 1);
+            builder.add(media.getCreator(), 1);
+        });
+        return builder;
+    }
+
+    /**
+     * Add a term occurrence; weights of terms with the same normalized form are summed
+     */
+    public AutocompleteIndexBuilder add(String term, int weight) {
+        if (term == null || term.isBlank()) {
+            return this;
+        }
+        String key = Tokenizer.normalize(term.strip());
+        terms.computeIfAbsent(key, k -> new Term(term.strip())).weight += weight;
+        return this;
+    }
+
+    public int getTermCount() {
+        return terms.size();
+    }
+
+    /**
+     * Build the trie and write it to a file, replacing any existing file
+     */
+    public void writeTo(Path file) throws IOException {
+        // Term ids are assigned in key order so equal weights break ties alphabetically
+        List<Map.Entry<String, Term>> sorted = new ArrayList<>(terms.entrySet());
+        sorted.sort(Map.Entry.comparingByKey());
+
+        Node root = new Node(new byte[0]);
+        Term[] byId = new Term[sorted.size()];
+        for (int id = 0; id < byId.length; id++) {
+            byId[id] = sorted.get(id).getValue();
+            insert(root, truncate(sorted.get(id).getKey().getBytes(StandardCharsets.UTF_8)), id);
+        }
+
+        computeTop(root, byId);
+
+        // Assign offsets: header, term records, term table, then nodes in pre-order
+        byte[][] display = new byte[byId.length][];
+        long offset = HEADER_BYTES;
+        for (int id = 0; id < byId.length; id++) {
+            display[id] = truncate(byId[id].display.getBytes(StandardCharsets.UTF_8));
+            offset += Integer.BYTES + Short.BYTES + display[id].length;
+        }
+        long termTableOffset = offset;
+        offset += (long) Integer.BYTES * byId.length;
+
+        List<Node> nodes = new ArrayList<>();
+        collect(root, nodes);
+        for (Node node : nodes) {
+            node.offset = offset;
+            offset += node.sizeInBytes();
+        }
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("Autocomplete index exceeds 2 GB");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(byId.length);
+            out.writeInt(topK);
+            out.writeInt((int) root.offset);
+            out.writeInt((int) termTableOffset);
+
+            long termOffset = HEADER_BYTES;
+            int[] termOffsets = new int[byId.length];
+            for (int id = 0; id < byId.length; id++) {
+                termOffsets[id] = (int) termOffset;
+                out.writeInt(byId[id].weight);
+                out.writeShort(display[id].length);
+                out.write(display[id]);
+                termOffset += Integer.BYTES + Short.BYTES + display[id].length;
+            }
+            for (int termOffsetValue : termOffsets) {
+                out.writeInt(termOffsetValue);
+            }
+
+            for (Node node : nodes) {
+                out.writeShort(node.label.length);
+                out.write(node.label);
+                out.writeByte(node.top.length);
+                for (int termId : node.top) {
+                    out.writeInt(termId);
+                }
+                out.writeShort(node.children.size());
+                for (Node child : node.children.values()) {
+                    out.writeByte(child.label[0]);
+                    out.writeInt((int) child.offset);
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert a key into the radix trie, splitting edges where keys diverge
+     */
+    private static void insert(Node root, byte[] key, int termId) {
+        Node node = root;
+        int i = 0;
+
+        while (true) {
+            if (i == key.length) {
+                node.termId = termId;
+                return;
+            }
+
+            Node child = node.children.get(key[i] & 0xFF);
+            if (child == null) {
+                Node leaf = new Node(Arrays.copyOfRange(key, i, key.length));
+                leaf.termId = termId;
+                node.children.put(key[i] & 0xFF, leaf);
+                return;
+            }
+
+            int common = 0;
+            while (common < child.label.length && i + common < key.length
+                    && child.label[common] == key[i + common]) {
+                common++;
+            }
+
+            if (common < child.label.length) {
+                Node middle = new Node(Arrays.copyOfRange(child.label, 0, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.children.put(child.label[0] & 0xFF, child);
+                node.children.put(middle.label[0] & 0xFF, middle);
+                child = middle;
+            }
+
+            node = child;
+            i += common;
+        }
+    }
+
+    /**
+     * Post-order: a node's top list is the best of its own term and its children's top lists
+     */
+    private void computeTop(Node node, Term[] byId) {
+        List<Integer> candidates = new ArrayList<>();
+        if (node.termId >= 0) {
+            candidates.add(node.termId);
+        }
+        for (Node child : node.children.values()) {
+            computeTop(child, byId);
+            for (int termId : child.top) {
+                candidates.add(termId);
+            }
+        }
+
+        candidates.sort(Comparator.<Integer>comparingInt(id -> byId[id].weight).reversed()
+                .thenComparingInt(id -> id));
+        node.top = candidates.stream().limit(topK).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void collect(Node node, List<Node> out) {
+        out.add(node);
+        for (Node child : node.children.values()) {
+            collect(child, out);
+        }
+    }
+
+    /**
+     * Cut UTF-8 bytes to MAX_TERM_BYTES on a code point boundary, never inside a multi-byte sequence
+     */
+    private static byte[] truncate(byte[] bytes) {
+        if (bytes.length <= MAX_TERM_BYTES) {
+            return bytes;
+        }
+        int end = MAX_TERM_BYTES;
+        // Continuation bytes look like 10xxxxxx; back up to the lead byte of the split code point
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+
+    /**
+     * A distinct term and its accumulated weight
+     */
+    private static final class Term {
+        private final String display;
+        private int weight;
+
+        private Term(String display) {
+            this.display = display;
+        }
+    }
+
+    /**
+     * Mutable trie node used while building
+     */
+    private static final class Node {
+        private byte[] label;
+        private final TreeMap<Integer, Node> children = new TreeMap<>();
+        private int termId = -1;
+        private int[] top;
+        private long offset;
+
+        private Node(byte[] label) {
+            this.label = label;
+        }
+
+        private long sizeInBytes() {
+            return Short.BYTES + label.length + 1 + (long) Integer.BYTES * top.length
+                    + Short.BYTES + (long) (1 + Integer.BYTES) * children.size();
+        }
+    }
+}
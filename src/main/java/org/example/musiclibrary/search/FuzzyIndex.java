@@ -0,0 +1,566 @@
+package org.example.musiclibrary.search;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.repository.ReadOnlyMediaRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typo-tolerant lookup of media names and creators ("led zepelin" finds "Led Zeppelin").
+ *
+ * Every distinct normalized name and creator is an entry. Candidates come from a trigram
+ * index: an edit destroys at most three trigrams, so an entry within k edits of the query
+ * shares at least (query trigrams - 3k) of them (count filtering). Entries are numbered in
+ * order of key length, so each posting list is cut by binary search to the entries whose
+ * length is within k of the query before counting. Since an edit adds or removes at most one
+ * distinct character, candidates whose 64-bit character set signature differs from the
+ * query's in more than k characters either way are dropped without touching their keys.
+ * The rest are verified with Myers' bit-parallel Levenshtein distance (queries up to 64
+ * characters) or a banded one, both giving up after k edits. The budget is raised one edit
+ * at a time and stops once the limit is filled, as closer matches always rank first.
+ *
+ * Matches are ranked by distance, then popularity (number of media rows with that value).
+ * The index is an immutable snapshot; rebuild it to pick up catalog changes.
+ */
+public class FuzzyIndex {
+
+    // Normalized text of all entries back to back, in id order: entry i is
+    // keyChars[keyStarts[i] .. keyStarts[i + 1]), so verification reads one contiguous array
+    private final char[] keyChars;
+    private final int[] keyStarts;
+    // Entry id -> display text, media ids
+    private final String[] displays;
+    private final int[][] mediaIds;
+    // Trigram -> sorted entry ids
+    private final Map<String, int[]> trigrams;
+    // Key length -> first entry id with a key at least that long
+    private final int[] lengthStarts;
+    // Entry id -> character set signature of the key
+    private final long[] signatures;
+
+    private FuzzyIndex(char[] keyChars, int[] keyStarts, String[] displays, int[][] mediaIds,
+                       Map<String, int[]> trigrams, int[] lengthStarts, long[] signatures) {
+        this.keyChars = keyChars;
+        this.keyStarts = keyStarts;
+        this.displays = displays;
+        this.mediaIds = mediaIds;
+        this.trigrams = trigrams;
+        this.lengthStarts = lengthStarts;
+        this.signatures = signatures;
+    }
+
+    /**
+     * Build an index of media names and creators from a streaming scan of the repository
+     */
+    public static FuzzyIndex build(ReadOnlyMediaRepository mediaRepository) throws DatabaseOperationException {
+        Map<String, Collector> entries = new HashMap<>();
+        mediaRepository.scanAll(media -> collect(entries, media));
+        return fromEntries(entries);
+    }
+
+    /**
+     * Build an index from media already in memory
+     */
+    public static FuzzyIndex of(Iterable<? extends Media> media) {
+        Map<String, Collector> entries = new HashMap<>();
+        media.forEach(item -> collect(entries, item));
+        return fromEntries(entries);
+    }
+
+    private static FuzzyIndex fromEntries(Map<String, Collector> entries) {
+        int count = entries.size();
+        String[] displays = new String[count];
+        int[][] mediaIds = new int[count][];
+        Map<String, IntList> postings = new HashMap<>();
+
+        // Shorter keys get lower ids, so every posting list is ordered by key length too
+        List<Map.Entry<String, Collector>> byLength = new ArrayList<>(entries.entrySet());
+        byLength.sort(Comparator.comparingInt(entry -> entry.getKey().length()));
+        int maxLength = count == 0 ? 0 : byLength.get(count - 1).getKey().length();
+        int[] lengthStarts = new int[maxLength + 2];
+        long[] signatures = new long[count];
+        int[] keyStarts = new int[count + 1];
+        char[] keyChars = new char[byLength.stream().mapToInt(entry -> entry.getKey().length()).sum()];
+
+        int entryId = 0;
+        for (Map.Entry<String, Collector> entry : byLength) {
+            String key = entry.getKey();
+            lengthStarts[key.length() + 1]++;
+            signatures[entryId] = signatureOf(key);
+            key.getChars(0, key.length(), keyChars, keyStarts[entryId]);
+            keyStarts[entryId + 1] = keyStarts[entryId] + key.length();
+            displays[entryId] = entry.getValue().display;
+            mediaIds[entryId] = entry.getValue().ids.toArray();
+            for (String gram : trigramsOf(key)) {
+                postings.computeIfAbsent(gram, g -> new IntList()).add(entryId);
+            }
+            entryId++;
+        }
+
+        Map<String, int[]> trigrams = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, list) -> trigrams.put(gram, list.toArray()));
+        for (int length = 1; length < lengthStarts.length; length++) {
+            lengthStarts[length] += lengthStarts[length - 1];
+        }
+        return new FuzzyIndex(keyChars, keyStarts, displays, mediaIds, trigrams, lengthStarts, signatures);
+    }
+
+    /**
+     * Edit budget used when the caller does not choose one: exact for very short
+     * queries, one typo up to five characters, two beyond that
+     */
+    public static int defaultMaxDistance(String query) {
+        int length = Tokenizer.normalize(query).strip().length();
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Find names and creators within maxDistance edits of the query
+     * @param limit Maximum number of matches
+     */
+    public List<Match> search(String query, int maxDistance, int limit) {
+        String key = Tokenizer.normalize(query).strip();
+        if (key.isEmpty() || limit <= 0 || maxDistance < 0) {
+            return List.of();
+        }
+
+        BitPattern pattern = key.length() <= Long.SIZE ? new BitPattern(key) : null;
+        List<Match> matches = new ArrayList<>();
+        // Matches rank by distance first, so once a smaller budget fills the limit a larger one
+        // cannot change the top results; small budgets filter far more candidates out
+        for (int budget = 0; budget <= maxDistance && matches.size() < limit; budget++) {
+            matches.clear();
+            for (int entryId : candidates(key, budget)) {
+                // The length window of candidates() already bounds the length difference by the budget
+                int start = keyStarts[entryId];
+                int end = keyStarts[entryId + 1];
+                int distance = pattern != null
+                        ? pattern.boundedDistance(keyChars, start, end, budget)
+                        : boundedDistance(key, new String(keyChars, start, end - start), budget);
+                if (distance <= budget) {
+                    matches.add(new Match(displays[entryId], distance, mediaIds[entryId]));
+                }
+            }
+        }
+
+        matches.sort(Match.BEST_FIRST);
+        return matches.size() <= limit ? matches : new ArrayList<>(matches.subList(0, limit));
+    }
+
+    public int getEntryCount() {
+        return displays.length;
+    }
+
+    public int getTrigramCount() {
+        return trigrams.size();
+    }
+
+    /**
+     * Levenshtein distance limited to a diagonal band of width 2k + 1.
+     * @return The distance, or k + 1 if it is greater than k
+     */
+    static int boundedDistance(String a, String b, int k) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > k) {
+            return k + 1;
+        }
+
+        int over = k + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= k ? j : over;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - k);
+            int to = Math.min(m, i + k);
+            Arrays.fill(current, over);
+            current[0] = i <= k ? i : over;
+
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > k) {
+                return over;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], over);
+    }
+
+    /**
+     * Entries whose key length is within k of the query's, that share at least
+     * (query trigrams - 3k) trigrams with it and whose character sets differ from the
+     * query's by at most k characters either way. When the query has too few trigrams
+     * for the trigram bound, one shared trigram is required (best effort).
+     */
+    private int[] candidates(String key, int maxDistance) {
+        Set<String> grams = trigramsOf(key);
+        int threshold = Math.max(1, grams.size() - 3 * maxDistance);
+        int from = firstEntryOfLength(key.length() - maxDistance);
+        int to = firstEntryOfLength(key.length() + maxDistance + 1);
+
+        List<Slice> slices = new ArrayList<>();
+        for (String gram : grams) {
+            int[] list = trigrams.get(gram);
+            if (list != null) {
+                Slice slice = new Slice(list, lowerBound(list, from), lowerBound(list, to));
+                if (slice.start < slice.end) {
+                    slices.add(slice);
+                }
+            }
+        }
+        if (slices.size() < threshold) {
+            return new int[0];
+        }
+        slices.sort(Comparator.comparingInt(slice -> slice.end - slice.start));
+
+        // Prefix filtering: an entry sharing `threshold` trigrams has one of the rarest
+        // (slices - threshold + 1), so only those are merged into the candidate set, keeping
+        // just the entries that pass the signature filter
+        int prefixSlices = slices.size() - threshold + 1;
+        Candidates candidates = new Candidates(signatures, signatureOf(key), maxDistance);
+        for (int rank = 0; rank < prefixSlices; rank++) {
+            candidates.merge(slices.get(rank));
+        }
+
+        // The common slices only count for known candidates, which are dropped as soon as
+        // the slices left cannot bring them to the threshold
+        for (int rank = prefixSlices; rank < slices.size() && candidates.size > 0; rank++) {
+            candidates.count(slices.get(rank));
+            candidates.retainReachable(threshold - (slices.size() - rank - 1));
+        }
+        candidates.retainReachable(threshold);
+        return Arrays.copyOf(candidates.ids, candidates.size);
+    }
+
+    private int firstEntryOfLength(int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        return length < lengthStarts.length ? lengthStarts[length] : displays.length;
+    }
+
+    /**
+     * Index of the first element not less than the value in a sorted array
+     */
+    private static int lowerBound(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * One bit per letter, digit and space; other characters share the remaining bits.
+     * Shared bits can only hide differences, so the filter never drops a real match.
+     */
+    private static long signatureOf(String key) {
+        long signature = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            int bit;
+            if (c >= 'a' && c <= 'z') {
+                bit = c - 'a';
+            } else if (c >= '0' && c <= '9') {
+                bit = 26 + c - '0';
+            } else if (c == ' ') {
+                bit = 36;
+            } else {
+                bit = 37 + c % 27;
+            }
+            signature |= 1L << bit;
+        }
+        return signature;
+    }
+
+    /**
+     * Distinct trigrams of the text padded with two leading and one trailing space
+     */
+    private static Set<String> trigramsOf(String key) {
+        String padded = "  " + key + " ";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static void collect(Map<String, Collector> entries, Media media) {
+        collect(entries, media.getName(), media.getId());
+        collect(entries, media.getCreator(), media.getId());
+    }
+
+    private static void collect(Map<String, Collector> entries, String text, int mediaId) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String key = Tokenizer.normalize(text).strip();
+        entries.computeIfAbsent(key, k -> new Collector(text.strip())).ids.add(mediaId);
+    }
+
+    /**
+     * The part of a posting list within the length window
+     */
+    private static final class Slice {
+        private final int[] ids;
+        private final int start;
+        private final int end;
+
+        private Slice(int[] ids, int start, int end) {
+            this.ids = ids;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Sorted candidate entry ids with the number of query trigrams seen for each
+     */
+    private static final class Candidates {
+        private final long[] signatures;
+        private final long querySignature;
+        private final int maxDistance;
+        private int[] ids = new int[0];
+        private int[] counts = new int[0];
+        private int size;
+
+        private Candidates(long[] signatures, long querySignature, int maxDistance) {
+            this.signatures = signatures;
+            this.querySignature = querySignature;
+            this.maxDistance = maxDistance;
+        }
+
+        /**
+         * Union with a slice, adding its entries that pass the signature filter as new candidates
+         */
+        private void merge(Slice slice) {
+            int[] mergedIds = new int[size + slice.end - slice.start];
+            int[] mergedCounts = new int[mergedIds.length];
+            int i = 0;
+            int j = slice.start;
+            int merged = 0;
+            while (i < size || j < slice.end) {
+                if (j == slice.end || (i < size && ids[i] < slice.ids[j])) {
+                    mergedIds[merged] = ids[i];
+                    mergedCounts[merged++] = counts[i++];
+                } else if (i == size || slice.ids[j] < ids[i]) {
+                    int id = slice.ids[j++];
+                    if (similarCharacters(id)) {
+                        mergedIds[merged] = id;
+                        mergedCounts[merged++] = 1;
+                    }
+                } else {
+                    mergedIds[merged] = ids[i];
+                    mergedCounts[merged++] = counts[i++] + 1;
+                    j++;
+                }
+            }
+            ids = mergedIds;
+            counts = mergedCounts;
+            size = merged;
+        }
+
+        /**
+         * Count the candidates present in a slice; binary search skips ahead when candidates are sparse
+         */
+        private void count(Slice slice) {
+            boolean sparse = (long) size * 16 < slice.end - slice.start;
+            int j = slice.start;
+            for (int i = 0; i < size && j < slice.end; i++) {
+                if (sparse) {
+                    int found = Arrays.binarySearch(slice.ids, j, slice.end, ids[i]);
+                    j = found >= 0 ? found : -found - 1;
+                } else {
+                    while (j < slice.end && slice.ids[j] < ids[i]) {
+                        j++;
+                    }
+                }
+                if (j < slice.end && slice.ids[j] == ids[i]) {
+                    counts[i]++;
+                    j++;
+                }
+            }
+        }
+
+        private void retainReachable(int minimumCount) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (counts[i] >= minimumCount) {
+                    ids[kept] = ids[i];
+                    counts[kept++] = counts[i];
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * False if the entry misses more than k of the query's characters, or has more than k others
+         */
+        private boolean similarCharacters(int id) {
+            long signature = signatures[id];
+            return Long.bitCount(querySignature & ~signature) <= maxDistance
+                    && Long.bitCount(signature & ~querySignature) <= maxDistance;
+        }
+    }
+
+    /**
+     * Query compiled for Myers' bit-parallel edit distance (Hyyro's formulation): one bit per
+     * query character, one column of the DP matrix per step
+     */
+    private static final class BitPattern {
+        private final String pattern;
+        // Character -> bits of the pattern positions holding it (ASCII; others are computed on use)
+        private final long[] asciiMasks = new long[128];
+        private final long lastBit;
+
+        private BitPattern(String pattern) {
+            this.pattern = pattern;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c < 128) {
+                    asciiMasks[c] |= 1L << i;
+                }
+            }
+            this.lastBit = 1L << (pattern.length() - 1);
+        }
+
+        /**
+         * Distance to text[from .. to)
+         * @return The distance, or k + 1 if it is greater than k
+         */
+        private int boundedDistance(char[] text, int from, int to, int k) {
+            int m = pattern.length();
+            int n = to - from;
+            long positive = -1L;
+            long negative = 0;
+            int score = m;
+            for (int j = 0; j < n; j++) {
+                long equal = mask(text[from + j]);
+                long vertical = equal | negative;
+                long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+                long positiveH = negative | ~(horizontal | positive);
+                long negativeH = positive & horizontal;
+                if ((positiveH & lastBit) != 0) {
+                    score++;
+                } else if ((negativeH & lastBit) != 0) {
+                    score--;
+                }
+                // The remaining n - j - 1 columns can lower the score by at most one each
+                if (score - (n - j - 1) > k) {
+                    return k + 1;
+                }
+                positiveH = (positiveH << 1) | 1;
+                negativeH <<= 1;
+                positive = negativeH | ~(vertical | positiveH);
+                negative = positiveH & vertical;
+            }
+            return Math.min(score, k + 1);
+        }
+
+        private long mask(char c) {
+            if (c < 128) {
+                return asciiMasks[c];
+            }
+            long mask = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                if (pattern.charAt(i) == c) {
+                    mask |= 1L << i;
+                }
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * Build-time state of one entry; the first spelling seen is used for display
+     */
+    private static final class Collector {
+        private final String display;
+        private final IntList ids = new IntList();
+
+        private Collector(String display) {
+            this.display = display;
+        }
+    }
+
+    /**
+     * Growable int array
+     */
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * A name or creator within the edit budget, with the media it belongs to
+     */
+    public static final class Match {
+        private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::getDistance)
+                .thenComparing(Comparator.comparingInt(Match::getPopularity).reversed())
+                .thenComparing(Match::getText);
+
+        private final String text;
+        private final int distance;
+        private final int[] mediaIds;
+
+        private Match(String text, int distance, int[] mediaIds) {
+            this.text = text;
+            this.distance = distance;
+            this.mediaIds = mediaIds;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * Number of media rows having this name or creator
+         */
+        public int getPopularity() {
+            return mediaIds.length;
+        }
+
+        public int[] getMediaIds() {
+            return mediaIds.clone();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (distance %d, %d media)", text, distance, mediaIds.length);
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package org.example.musiclibrary.search;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.Song;
+import org.example.musiclibrary.repository.ReadOnlyMediaRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the media catalog for typeahead search.
+ * Indexes Media name and creator plus Song album and genre.
+ *
+ * Every query token is matched as a prefix ("zep" matches "zeppelin") and all tokens must
+ * match. Hits are scored by the field they match in (name > creator > album/genre), with a
+ * bonus for whole-word matches, and the top k are returned.
+ *
+ * Candidates come from the query token with the fewest postings; the other tokens are checked
+ * while scoring. A single one- or two-letter query is capped at MAX_CANDIDATES documents, so
+ * it costs the same as a selective one instead of copying and sorting most of the postings.
+ * Past the cap, the top k are the best of the capped candidates (whole-word matches first).
+ *
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class MediaSearchIndex {
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int CREATOR_WEIGHT = 2;
+    private static final int OTHER_WEIGHT = 1;
+    private static final int EXACT_BONUS = 1;
+    // Upper bound on documents scored for a short single-token query
+    private static final int MAX_CANDIDATES = 10_000;
+    private static final int SHORT_PREFIX_LENGTH = 2;
+
+    // term -> sorted ids of media containing it; sorted by term for prefix range scans
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long buildMillis;
+
+    /**
+     * Build an index from a streaming scan of the repository (constant extra memory while reading)
+     */
+    public static MediaSearchIndex build(ReadOnlyMediaRepository mediaRepository) throws DatabaseOperationException {
+        MediaSearchIndex index = new MediaSearchIndex();
+        long start = System.nanoTime();
+        mediaRepository.scanAll(index::add);
+        index.buildMillis = (System.nanoTime() - start) / 1_000_000;
+        return index;
+    }
+
+    /**
+     * Index a media item, replacing any previous version with the same ID
+     */
+    public void add(Media media) {
+        Document document = new Document(media);
+
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(media.getId(), document);
+            if (previous != null) {
+                unindex(media.getId(), previous);
+            }
+            for (String term : document.terms) {
+                postings.computeIfAbsent(term, t -> new PostingList()).add(media.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a media item from the index
+     * @return true if the item was indexed
+     */
+    public boolean remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            unindex(id, previous);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the best matching media for a typeahead query
+     * @param limit Maximum number of results (k)
+     */
+    public List<Media> search(String query, int limit) {
+        List<String> queryTokens = Tokenizer.tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(Hit.WORST_FIRST);
+
+        lock.readLock().lock();
+        try {
+            // Every hit matches all tokens, so the rarest one generates complete candidates
+            String driver = rarestToken(queryTokens);
+            boolean capped = queryTokens.size() == 1 && driver.length() <= SHORT_PREFIX_LENGTH;
+            for (int id : candidates(driver, capped)) {
+                Document document = documents.get(id);
+                int score = document.score(queryTokens);
+                if (score == 0) {
+                    continue;
+                }
+                Hit hit = new Hit(document.media, score);
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (Hit.WORST_FIRST.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Hit.WORST_FIRST.reversed());
+        List<Media> results = new ArrayList<>(hits.size());
+        hits.forEach(hit -> results.add(hit.media));
+        return results;
+    }
+
+    /**
+     * Snapshot of index size and build statistics
+     */
+    public Stats getStats() {
+        lock.readLock().lock();
+        try {
+            long postingEntries = 0;
+            long bytes = 0;
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                // TreeMap entry + String object + its byte[] (Latin-1 compact strings)
+                bytes += 40 + 24 + 16 + entry.getKey().length();
+                bytes += entry.getValue().estimatedBytes();
+                postingEntries += entry.getValue().size;
+            }
+            for (Document document : documents.values()) {
+                // HashMap node + boxed key + document with its token arrays and strings
+                bytes += 32 + 16 + document.estimatedBytes();
+            }
+            return new Stats(documents.size(), postings.size(), postingEntries, bytes, buildMillis);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The query token whose prefix range has the fewest postings (caller holds the read lock)
+     */
+    private String rarestToken(List<String> queryTokens) {
+        String rarest = null;
+        long fewest = Long.MAX_VALUE;
+        for (String token : queryTokens) {
+            long count = 0;
+            for (PostingList list : prefixRange(token).values()) {
+                count += list.size;
+                if (count >= fewest) {
+                    break;
+                }
+            }
+            if (count < fewest) {
+                rarest = token;
+                fewest = count;
+            }
+        }
+        return rarest;
+    }
+
+    /**
+     * Ids of the documents having a term that starts with the prefix; when capped, at most
+     * MAX_CANDIDATES of them, taking the exact term's postings first (caller holds the read lock)
+     */
+    private int[] candidates(String prefix, boolean capped) {
+        Map<String, PostingList> range = prefixRange(prefix);
+        int limit = capped ? MAX_CANDIDATES : Integer.MAX_VALUE;
+        if (range.size() == 1) {
+            PostingList only = range.values().iterator().next();
+            return Arrays.copyOf(only.ids, Math.min(only.size, limit));
+        }
+
+        long available = 0;
+        for (PostingList list : range.values()) {
+            available += list.size;
+        }
+
+        // The exact term sorts first in the range, so whole-word matches are taken before longer terms
+        int[] ids = new int[(int) Math.min(available, limit)];
+        int total = 0;
+        for (PostingList list : range.values()) {
+            int count = Math.min(list.size, ids.length - total);
+            System.arraycopy(list.ids, 0, ids, total, count);
+            total += count;
+            if (total == ids.length) {
+                break;
+            }
+        }
+
+        // A document can contain several terms with the same prefix
+        Arrays.sort(ids, 0, total);
+        int distinct = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    private Map<String, PostingList> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void unindex(int id, Document document) {
+        for (String term : document.terms) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Tokenized view of one media item
+     */
+    private static final class Document {
+        private final Media media;
+        private final String[] nameTokens;
+        private final String[] creatorTokens;
+        private final String[] otherTokens;
+        private final String[] terms;
+
+        private Document(Media media) {
+            this.media = media;
+            this.nameTokens = Tokenizer.tokenize(media.getName()).toArray(String[]::new);
+            this.creatorTokens = Tokenizer.tokenize(media.getCreator()).toArray(String[]::new);
+
+            List<String> other = new ArrayList<>();
+            if (media instanceof Song song) {
+                other.addAll(Tokenizer.tokenize(song.getAlbum()));
+                other.addAll(Tokenizer.tokenize(song.getGenre()));
+            }
+            this.otherTokens = other.toArray(String[]::new);
+
+            Set<String> all = new LinkedHashSet<>();
+            all.addAll(Arrays.asList(nameTokens));
+            all.addAll(Arrays.asList(creatorTokens));
+            all.addAll(other);
+            this.terms = all.toArray(String[]::new);
+        }
+
+        /**
+         * Sum of the best field weight per query token, or 0 if any token does not match
+         */
+        private int score(List<String> queryTokens) {
+            int total = 0;
+            for (String token : queryTokens) {
+                int best = Math.max(fieldScore(nameTokens, token, NAME_WEIGHT),
+                        Math.max(fieldScore(creatorTokens, token, CREATOR_WEIGHT),
+                                fieldScore(otherTokens, token, OTHER_WEIGHT)));
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private static int fieldScore(String[] fieldTokens, String queryToken, int weight) {
+            int best = 0;
+            for (String fieldToken : fieldTokens) {
+                if (fieldToken.equals(queryToken)) {
+                    return weight + EXACT_BONUS;
+                }
+                if (fieldToken.startsWith(queryToken)) {
+                    best = weight;
+                }
+            }
+            return best;
+        }
+
+        private long estimatedBytes() {
+            long bytes = 24 + 4L * 16 + 4L * (nameTokens.length + creatorTokens.length + otherTokens.length + terms.length);
+            for (String[] field : new String[][]{nameTokens, creatorTokens, otherTokens}) {
+                for (String token : field) {
+                    bytes += 24 + 16 + token.length();
+                }
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Growable sorted array of media ids
+     */
+    private static final class PostingList {
+        private int[] ids = new int[2];
+        private int size;
+
+        private void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private long estimatedBytes() {
+            return 16 + 16 + 4L * ids.length;
+        }
+    }
+
+    /**
+     * A scored search result
+     */
+    private static final class Hit {
+        // Lower score is worse; on equal score the name later in the alphabet is worse
+        private static final Comparator<Hit> WORST_FIRST = Comparator.<Hit>comparingInt(hit -> hit.score)
+                .thenComparing((Hit hit) -> hit.media.getName(), Comparator.reverseOrder());
+
+        private final Media media;
+        private final int score;
+
+        private Hit(Media media, int score) {
+            this.media = media;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Index size and build statistics
+     */
+    public static final class Stats {
+        private final int documentCount;
+        private final int termCount;
+        private final long postingEntries;
+        private final long estimatedBytes;
+        private final long buildMillis;
+
+        private Stats(int documentCount, int termCount, long postingEntries, long estimatedBytes, long buildMillis) {
+            this.documentCount = documentCount;
+            this.termCount = termCount;
+            this.postingEntries = postingEntries;
+            this.estimatedBytes = estimatedBytes;
+            this.buildMillis = buildMillis;
+        }
+
+        public int getDocumentCount() {
+            return documentCount;
+        }
+
+        public int getTermCount() {
+            return termCount;
+        }
+
+        public long getPostingEntries() {
+            return postingEntries;
+        }
+
+        /**
+         * Approximate heap used by the index structures (excluding the Media objects themselves)
+         */
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+
+        public long getBuildMillis() {
+            return buildMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("MediaSearchIndex: %d documents, %d terms, %d postings, ~%d KB, built in %d ms",
+                    documentCount, termCount, postingEntries, estimatedBytes / 1024, buildMillis);
+        }
+    }
+}
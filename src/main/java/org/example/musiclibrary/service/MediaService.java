@@ -2,7 +2,14 @@ package org.example.musiclibrary.service;
 
 import org.example.musiclibrary.exception.*;
 import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.MediaSummary;
+import org.example.musiclibrary.repository.BatchResult;
+import org.example.musiclibrary.repository.LookupResult;
+import org.example.musiclibrary.repository.MediaCriteria;
+import org.example.musiclibrary.repository.Page;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * MediaService interface defining business operations for Media.
@@ -12,21 +19,85 @@ import java.util.List;
  */
 public interface MediaService {
 
+    /**
+     * Largest page size accepted by the paged listings
+     */
+    int MAX_PAGE_SIZE = 1000;
+
     /**
      * Create a new media item with validation
      */
     Media createMedia(Media media) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException;
 
+    /**
+     * Create the media item, or update the existing one with the same name, type and creator
+     */
+    Media upsertMedia(Media media) throws InvalidInputException, DatabaseOperationException;
+
+    /**
+     * Create many media items at once (bulk catalog load).
+     * Invalid and duplicate items are reported in the result; valid items are still created.
+     */
+    BatchResult<Media> createAllMedia(Collection<Media> media) throws DatabaseOperationException;
+
+    /**
+     * Create many media items, sending at most chunkSize rows per database statement
+     */
+    BatchResult<Media> createAllMedia(Collection<Media> media, int chunkSize) throws DatabaseOperationException;
+
     /**
      * Get all media items
      */
     List<Media> getAllMedia() throws DatabaseOperationException;
 
+    /**
+     * Find media by a combination of filters with sorting and an optional limit, evaluated in the database
+     * @param criteria Filters and sort; a limit, if set, must not exceed MAX_PAGE_SIZE
+     */
+    List<Media> findMedia(MediaCriteria criteria) throws DatabaseOperationException;
+
+    /**
+     * Get id, name, creator, type and duration of all media (for list views)
+     */
+    List<MediaSummary> getAllMediaSummaries() throws DatabaseOperationException;
+
+    /**
+     * Summary variant of getMediaByType()
+     */
+    List<MediaSummary> getMediaSummariesByType(Media.MediaType type) throws DatabaseOperationException;
+
+    /**
+     * Summary variant of getMediaByCreator()
+     */
+    List<MediaSummary> getMediaSummariesByCreator(String creator) throws DatabaseOperationException;
+
+    /**
+     * Summary variant of searchMediaByName()
+     */
+    List<MediaSummary> searchMediaSummariesByName(String keyword) throws DatabaseOperationException;
+
+    /**
+     * Stream all media to the consumer in constant memory (for exports and analytics)
+     * @return Number of media items processed
+     */
+    long forEachMedia(Consumer<? super Media> consumer) throws DatabaseOperationException;
+
+    /**
+     * Stream media of one type to the consumer in constant memory
+     * @return Number of media items processed
+     */
+    long forEachMediaByType(Media.MediaType type, Consumer<? super Media> consumer) throws DatabaseOperationException;
+
     /**
      * Get media by ID
      */
     Media getMediaById(int id) throws ResourceNotFoundException, DatabaseOperationException;
 
+    /**
+     * Get many media items by ID in one round trip; unknown IDs are reported, not thrown
+     */
+    LookupResult<Media> getMediaByIds(Collection<Integer> ids) throws DatabaseOperationException;
+
     /**
      * Update existing media with validation
      */
@@ -51,4 +122,56 @@ public interface MediaService {
      * Search media by name
      */
     List<Media> searchMediaByName(String keyword) throws DatabaseOperationException;
+
+    /**
+     * Typo-tolerant search by name or creator ("Led Zepelin" finds Led Zeppelin's media),
+     * ranked by edit distance, then popularity. Served from the fuzzy index when one is
+     * configured, otherwise by the repository's trigram similarity search.
+     * @param limit Maximum number of results (1 to MAX_PAGE_SIZE)
+     */
+    List<Media> searchMediaFuzzy(String query, int limit) throws DatabaseOperationException;
+
+    /**
+     * Suggest existing creator names similar to a (possibly misspelled) one
+     */
+    List<String> findSimilarCreators(String creator, int limit) throws DatabaseOperationException;
+
+    /**
+     * Typeahead search: every word is matched as a prefix of name, creator, album or genre.
+     * Served from the in-memory search index when one is configured, otherwise from a database prefix search.
+     */
+    List<Media> typeahead(String query, int limit) throws DatabaseOperationException;
+
+    /**
+     * Complete a prefix to the most frequent matching titles and creator names.
+     * Served from the autocomplete index when one is configured, otherwise from a prefix search of the database.
+     */
+    List<String> autocomplete(String prefix, int limit) throws DatabaseOperationException;
+
+    /**
+     * Ranked full-text search across name, creator, album, host and category
+     * @param limit Maximum number of results (1 to MAX_PAGE_SIZE)
+     */
+    List<Media> searchMedia(String query, int limit) throws DatabaseOperationException;
+
+    /**
+     * Get one page of all media (ordered by id)
+     * @param cursor Cursor from the previous page, or null for the first page
+     */
+    Page<Media> getMediaPage(String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Get one page of media by type (ordered by name)
+     */
+    Page<Media> getMediaByTypePage(Media.MediaType type, String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Get one page of media by creator (ordered by name)
+     */
+    Page<Media> getMediaByCreatorPage(String creator, String cursor, int pageSize) throws DatabaseOperationException;
+
+    /**
+     * Get one page of media whose name contains the keyword (ordered by name)
+     */
+    Page<Media> searchMediaByNamePage(String keyword, String cursor, int pageSize) throws DatabaseOperationException;
 }
\ No newline at end of file
@@ -2,9 +2,23 @@ package org.example.musiclibrary.service;
 
 import org.example.musiclibrary.exception.*;
 import org.example.musiclibrary.model.Media;
+import org.example.musiclibrary.model.MediaSummary;
+import org.example.musiclibrary.repository.BatchResult;
+import org.example.musiclibrary.repository.LookupResult;
+import org.example.musiclibrary.repository.MediaCriteria;
 import org.example.musiclibrary.repository.MediaRepository;
+import org.example.musiclibrary.repository.Page;
+import org.example.musiclibrary.search.AutocompleteIndex;
+import org.example.musiclibrary.search.FuzzyIndex;
+import org.example.musiclibrary.search.MediaSearchIndex;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementation of MediaService with business logic and validation.
@@ -15,12 +29,44 @@ import java.util.List;
 public class MediaServiceImpl implements MediaService {
 
     private final MediaRepository mediaRepository;
+    private final MediaSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final FuzzyIndex fuzzyIndex;
 
     /**
      * Constructor injection demonstrating DIP
      */
     public MediaServiceImpl(MediaRepository mediaRepository) {
+        this(mediaRepository, null);
+    }
+
+    /**
+     * Constructor with an in-memory search index for typeahead.
+     * The index is kept current by this service's create/update/delete operations.
+     */
+    public MediaServiceImpl(MediaRepository mediaRepository, MediaSearchIndex searchIndex) {
+        this(mediaRepository, searchIndex, null);
+    }
+
+    /**
+     * Constructor with a prebuilt autocomplete index as well.
+     * The autocomplete index is an immutable snapshot; rebuild it offline to pick up catalog changes.
+     */
+    public MediaServiceImpl(MediaRepository mediaRepository, MediaSearchIndex searchIndex,
+                            AutocompleteIndex autocompleteIndex) {
+        this(mediaRepository, searchIndex, autocompleteIndex, null);
+    }
+
+    /**
+     * Constructor with all optional search indexes; any of them may be null.
+     * Like the autocomplete index, the fuzzy index is a snapshot that is rebuilt separately.
+     */
+    public MediaServiceImpl(MediaRepository mediaRepository, MediaSearchIndex searchIndex,
+                            AutocompleteIndex autocompleteIndex, FuzzyIndex fuzzyIndex) {
         this.mediaRepository = mediaRepository;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.fuzzyIndex = fuzzyIndex;
     }
 
     @Override
@@ -28,18 +74,63 @@ public class MediaServiceImpl implements MediaService {
         // Validation
         media.validate();
 
-        // Business rule: Check for duplicates
-        if (mediaRepository.existsByNameAndTypeAndCreator(media.getName(), media.getType(), media.getCreator())) {
-            throw new DuplicateResourceException("Media",
-                    String.format("%s '%s' by %s", media.getType(), media.getName(), media.getCreator()));
-        }
-
         // Additional business rules
         if (media.getDuration() > 86400) { // Max 24 hours
             throw new InvalidInputException("Media duration cannot exceed 24 hours");
         }
 
-        return mediaRepository.create(media);
+        // Business rule: No duplicates. The insert itself detects the conflict (one statement, race-free)
+        Media created = mediaRepository.createIfAbsent(media)
+                .orElseThrow(() -> new DuplicateResourceException("Media",
+                        String.format("%s '%s' by %s", media.getType(), media.getName(), media.getCreator())));
+        indexMedia(created);
+        return created;
+    }
+
+    @Override
+    public Media upsertMedia(Media media) throws InvalidInputException, DatabaseOperationException {
+        media.validate();
+
+        if (media.getDuration() > 86400) {
+            throw new InvalidInputException("Media duration cannot exceed 24 hours");
+        }
+
+        Media saved = mediaRepository.upsert(media);
+        indexMedia(saved);
+        return saved;
+    }
+
+    @Override
+    public BatchResult<Media> createAllMedia(Collection<Media> media) throws DatabaseOperationException {
+        return createAllMedia(media, MediaRepository.DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    public BatchResult<Media> createAllMedia(Collection<Media> media, int chunkSize) throws DatabaseOperationException {
+        if (media == null) {
+            throw new IllegalArgumentException("Media collection cannot be null");
+        }
+
+        // Validation happens up front; duplicates are detected by the database in the same statement
+        BatchResult<Media> result = new BatchResult<>();
+        List<Media> valid = new ArrayList<>(media.size());
+
+        for (Media item : media) {
+            try {
+                item.validate();
+                if (item.getDuration() > 86400) {
+                    throw new InvalidInputException("Media duration cannot exceed 24 hours");
+                }
+                valid.add(item);
+            } catch (InvalidInputException e) {
+                result.addFailure(item, e.getMessage());
+            }
+        }
+
+        BatchResult<Media> inserted = mediaRepository.createAll(valid, chunkSize);
+        inserted.getSucceeded().forEach(this::indexMedia);
+        result.merge(inserted);
+        return result;
     }
 
     @Override
@@ -47,12 +138,82 @@ public class MediaServiceImpl implements MediaService {
         return mediaRepository.getAll();
     }
 
+    @Override
+    public List<Media> findMedia(MediaCriteria criteria) throws DatabaseOperationException {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Criteria cannot be null");
+        }
+        criteria.getLimit().ifPresent(this::validatePageSize);
+        return mediaRepository.findByCriteria(criteria);
+    }
+
+    @Override
+    public List<MediaSummary> getAllMediaSummaries() throws DatabaseOperationException {
+        return mediaRepository.getAllSummaries();
+    }
+
+    @Override
+    public List<MediaSummary> getMediaSummariesByType(Media.MediaType type) throws DatabaseOperationException {
+        if (type == null) {
+            throw new IllegalArgumentException("Media type cannot be null");
+        }
+        return mediaRepository.findSummariesByType(type);
+    }
+
+    @Override
+    public List<MediaSummary> getMediaSummariesByCreator(String creator) throws DatabaseOperationException {
+        if (creator == null || creator.trim().isEmpty()) {
+            throw new IllegalArgumentException("Creator name cannot be empty");
+        }
+        return mediaRepository.findSummariesByCreator(creator);
+    }
+
+    @Override
+    public List<MediaSummary> searchMediaSummariesByName(String keyword) throws DatabaseOperationException {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search keyword cannot be empty");
+        }
+        return mediaRepository.searchSummariesByName(keyword);
+    }
+
+    @Override
+    public long forEachMedia(Consumer<? super Media> consumer) throws DatabaseOperationException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        return mediaRepository.scanAll(consumer);
+    }
+
+    @Override
+    public long forEachMediaByType(Media.MediaType type, Consumer<? super Media> consumer)
+            throws DatabaseOperationException {
+        if (type == null) {
+            throw new IllegalArgumentException("Media type cannot be null");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        return mediaRepository.scanByType(type, consumer);
+    }
+
     @Override
     public Media getMediaById(int id) throws ResourceNotFoundException, DatabaseOperationException {
         if (id <= 0) {
             throw new ResourceNotFoundException("Media with invalid ID: " + id);
         }
-        return mediaRepository.getById(id);
+        return mediaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Media", id));
+    }
+
+    @Override
+    public LookupResult<Media> getMediaByIds(Collection<Integer> ids) throws DatabaseOperationException {
+        if (ids == null || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Media IDs cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return new LookupResult<>(List.of(), List.of());
+        }
+        return mediaRepository.getByIds(ids);
     }
 
     @Override
@@ -60,26 +221,23 @@ public class MediaServiceImpl implements MediaService {
         // Validation
         media.validate();
 
-        // Business rule: Ensure media exists
-        if (!mediaRepository.exists(id)) {
-            throw new ResourceNotFoundException("Media", id);
-        }
-
         // Additional business rules
         if (media.getDuration() > 86400) {
             throw new InvalidInputException("Media duration cannot exceed 24 hours");
         }
 
-        return mediaRepository.update(id, media);
+        // Repository reports a missing ID from the UPDATE itself
+        Media updated = mediaRepository.update(id, media);
+        indexMedia(updated);
+        return updated;
     }
 
     @Override
     public void deleteMedia(int id) throws ResourceNotFoundException, DatabaseOperationException {
-        if (!mediaRepository.exists(id)) {
-            throw new ResourceNotFoundException("Media", id);
-        }
-
         mediaRepository.delete(id);
+        if (searchIndex != null) {
+            searchIndex.remove(id);
+        }
     }
 
     @Override
@@ -105,4 +263,124 @@ public class MediaServiceImpl implements MediaService {
         }
         return mediaRepository.searchByName(keyword);
     }
+
+    @Override
+    public List<Media> searchMediaFuzzy(String query, int limit) throws DatabaseOperationException {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        validatePageSize(limit);
+        if (fuzzyIndex == null) {
+            // Without the index, pg_trgm similarity still tolerates typos (ranked by similarity instead)
+            return mediaRepository.findSimilar(query.trim(), limit);
+        }
+
+        // Best matches first; each matched name or creator contributes its media until the limit
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (FuzzyIndex.Match match : fuzzyIndex.search(query, FuzzyIndex.defaultMaxDistance(query), limit)) {
+            for (int id : match.getMediaIds()) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                ids.add(id);
+            }
+        }
+        return ids.isEmpty() ? List.of() : mediaRepository.getByIds(ids).getFound();
+    }
+
+    @Override
+    public List<String> findSimilarCreators(String creator, int limit) throws DatabaseOperationException {
+        if (creator == null || creator.trim().isEmpty()) {
+            throw new IllegalArgumentException("Creator name cannot be empty");
+        }
+        validatePageSize(limit);
+        return mediaRepository.findSimilarCreators(creator.trim(), limit);
+    }
+
+    @Override
+    public List<Media> typeahead(String query, int limit) throws DatabaseOperationException {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        validatePageSize(limit);
+        if (searchIndex != null) {
+            return searchIndex.search(query, limit);
+        }
+        return mediaRepository.searchByPrefix(query.trim(), limit);
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit) throws DatabaseOperationException {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new IllegalArgumentException("Prefix cannot be empty");
+        }
+        validatePageSize(limit);
+        if (autocompleteIndex != null) {
+            return autocompleteIndex.complete(prefix, limit);
+        }
+
+        // No index configured: suggest the names of the best prefix matches
+        Set<String> names = new LinkedHashSet<>();
+        for (Media media : typeahead(prefix, limit)) {
+            names.add(media.getName());
+        }
+        return new ArrayList<>(names);
+    }
+
+    @Override
+    public List<Media> searchMedia(String query, int limit) throws DatabaseOperationException {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        validatePageSize(limit);
+        return mediaRepository.search(query.trim(), limit);
+    }
+
+    @Override
+    public Page<Media> getMediaPage(String cursor, int pageSize) throws DatabaseOperationException {
+        validatePageSize(pageSize);
+        return mediaRepository.getAllPage(cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> getMediaByTypePage(Media.MediaType type, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        if (type == null) {
+            throw new IllegalArgumentException("Media type cannot be null");
+        }
+        validatePageSize(pageSize);
+        return mediaRepository.findByTypePage(type, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> getMediaByCreatorPage(String creator, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        if (creator == null || creator.trim().isEmpty()) {
+            throw new IllegalArgumentException("Creator name cannot be empty");
+        }
+        validatePageSize(pageSize);
+        return mediaRepository.findByCreatorPage(creator, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Media> searchMediaByNamePage(String keyword, String cursor, int pageSize)
+            throws DatabaseOperationException {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search keyword cannot be empty");
+        }
+        validatePageSize(pageSize);
+        return mediaRepository.searchByNamePage(keyword, cursor, pageSize);
+    }
+
+    private void indexMedia(Media media) {
+        if (searchIndex != null) {
+            searchIndex.add(media);
+        }
+    }
+
+    private void validatePageSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
 }
\ No newline at end of file
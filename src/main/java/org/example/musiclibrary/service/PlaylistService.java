@@ -2,6 +2,9 @@ package org.example.musiclibrary.service;
 
 import org.example.musiclibrary.exception.*;
 import org.example.musiclibrary.model.Playlist;
+import org.example.musiclibrary.model.PlaylistSummary;
+import org.example.musiclibrary.repository.Page;
+import org.example.musiclibrary.repository.PlaylistRepository;
 import java.util.List;
 
 /**
@@ -10,6 +13,11 @@ import java.util.List;
  */
 public interface PlaylistService {
 
+    /**
+     * Largest page size accepted by getPlaylistPage
+     */
+    int MAX_PAGE_SIZE = 100;
+
     /**
      * Create a new playlist with validation
      */
@@ -20,6 +28,22 @@ public interface PlaylistService {
      */
     List<Playlist> getAllPlaylists() throws DatabaseOperationException;
 
+    /**
+     * Get all playlists, either with their items (EAGER) or without (SUMMARY)
+     */
+    List<Playlist> getAllPlaylists(PlaylistRepository.FetchMode mode) throws DatabaseOperationException;
+
+    /**
+     * Get id, name, item count and total duration of all playlists (for list views)
+     */
+    List<PlaylistSummary> getAllPlaylistSummaries() throws DatabaseOperationException;
+
+    /**
+     * Get one page of playlists with their items (ordered by id)
+     * @param cursor Cursor from the previous page, or null for the first page
+     */
+    Page<Playlist> getPlaylistPage(String cursor, int pageSize) throws DatabaseOperationException;
+
     /**
      * Get playlist by ID
      */
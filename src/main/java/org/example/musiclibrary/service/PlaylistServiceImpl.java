@@ -2,7 +2,8 @@ package org.example.musiclibrary.service;
 
 import org.example.musiclibrary.exception.*;
 import org.example.musiclibrary.model.Playlist;
-import org.example.musiclibrary.repository.MediaRepository;
+import org.example.musiclibrary.model.PlaylistSummary;
+import org.example.musiclibrary.repository.Page;
 import org.example.musiclibrary.repository.PlaylistRepository;
 
 import java.util.List;
@@ -15,14 +16,12 @@ import java.util.List;
 public class PlaylistServiceImpl implements PlaylistService {
 
     private final PlaylistRepository playlistRepository;
-    private final MediaRepository mediaRepository;
 
     /**
      * Constructor injection demonstrating DIP
      */
-    public PlaylistServiceImpl(PlaylistRepository playlistRepository, MediaRepository mediaRepository) {
+    public PlaylistServiceImpl(PlaylistRepository playlistRepository) {
         this.playlistRepository = playlistRepository;
-        this.mediaRepository = mediaRepository;
     }
 
     @Override
@@ -30,12 +29,9 @@ public class PlaylistServiceImpl implements PlaylistService {
         // Validation
         playlist.validate();
 
-        // Business rule: Check for duplicate playlist names
-        if (playlistRepository.existsByName(playlist.getName())) {
-            throw new DuplicateResourceException("Playlist", playlist.getName());
-        }
-
-        return playlistRepository.create(playlist);
+        // Business rule: No duplicate names. The insert itself detects the conflict (one statement, race-free)
+        return playlistRepository.createIfAbsent(playlist)
+                .orElseThrow(() -> new DuplicateResourceException("Playlist", playlist.getName()));
     }
 
     @Override
@@ -43,12 +39,34 @@ public class PlaylistServiceImpl implements PlaylistService {
         return playlistRepository.getAll();
     }
 
+    @Override
+    public List<Playlist> getAllPlaylists(PlaylistRepository.FetchMode mode) throws DatabaseOperationException {
+        if (mode == null) {
+            throw new IllegalArgumentException("Fetch mode cannot be null");
+        }
+        return playlistRepository.getAll(mode);
+    }
+
+    @Override
+    public List<PlaylistSummary> getAllPlaylistSummaries() throws DatabaseOperationException {
+        return playlistRepository.getAllSummaries();
+    }
+
+    @Override
+    public Page<Playlist> getPlaylistPage(String cursor, int pageSize) throws DatabaseOperationException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return playlistRepository.getAllPage(cursor, pageSize);
+    }
+
     @Override
     public Playlist getPlaylistById(int id) throws ResourceNotFoundException, DatabaseOperationException {
         if (id <= 0) {
             throw new ResourceNotFoundException("Playlist with invalid ID: " + id);
         }
-        return playlistRepository.getById(id);
+        return playlistRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Playlist", id));
     }
 
     @Override
@@ -56,42 +74,19 @@ public class PlaylistServiceImpl implements PlaylistService {
         // Validation
         playlist.validate();
 
-        // Business rule: Ensure playlist exists
-        if (!playlistRepository.exists(id)) {
-            throw new ResourceNotFoundException("Playlist", id);
-        }
-
-        // Business rule: If name is changing, check for duplicates
-        Playlist existing = playlistRepository.getById(id);
-        if (!existing.getName().equalsIgnoreCase(playlist.getName())) {
-            if (playlistRepository.existsByName(playlist.getName())) {
-                throw new DuplicateResourceException("Playlist", playlist.getName());
-            }
-        }
-
-        return playlistRepository.update(id, playlist);
+        // Business rule: No duplicate names. The UPDATE reports both a missing ID and a taken name
+        return playlistRepository.updateIfNameAvailable(id, playlist)
+                .orElseThrow(() -> new DuplicateResourceException("Playlist", playlist.getName()));
     }
 
     @Override
     public void deletePlaylist(int id) throws ResourceNotFoundException, DatabaseOperationException {
-        if (!playlistRepository.exists(id)) {
-            throw new ResourceNotFoundException("Playlist", id);
-        }
-
         playlistRepository.delete(id);
     }
 
     @Override
     public void addMediaToPlaylist(int playlistId, int mediaId) throws ResourceNotFoundException, DatabaseOperationException {
-        // Business rule: Validate both playlist and media exist
-        if (!playlistRepository.exists(playlistId)) {
-            throw new ResourceNotFoundException("Playlist", playlistId);
-        }
-
-        if (!mediaRepository.exists(mediaId)) {
-            throw new ResourceNotFoundException("Media", mediaId);
-        }
-
+        // Business rule: Both playlist and media must exist (enforced by the foreign keys)
         playlistRepository.addMediaToPlaylist(playlistId, mediaId);
     }
 
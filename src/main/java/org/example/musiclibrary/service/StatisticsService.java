@@ -0,0 +1,45 @@
+package org.example.musiclibrary.service;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.CreatorStats;
+import org.example.musiclibrary.model.GroupStats;
+import org.example.musiclibrary.model.LibraryStats;
+import java.util.List;
+
+/**
+ * StatisticsService interface defining library-wide reporting operations.
+ * Demonstrates DIP and ISP: dashboards depend on this instead of loading all media.
+ */
+public interface StatisticsService {
+
+    /**
+     * Largest number of creators returned by getTopCreators
+     */
+    int MAX_TOP_CREATORS = 100;
+
+    /**
+     * Totals and averages over the whole library
+     */
+    LibraryStats getLibraryStats() throws DatabaseOperationException;
+
+    /**
+     * Media count and duration per type
+     */
+    List<GroupStats> getCountsByType() throws DatabaseOperationException;
+
+    /**
+     * Song count and duration per genre
+     */
+    List<GroupStats> getCountsByGenre() throws DatabaseOperationException;
+
+    /**
+     * Podcast count and duration per category
+     */
+    List<GroupStats> getCountsByCategory() throws DatabaseOperationException;
+
+    /**
+     * Creators with the most media items
+     * @param limit Maximum number of creators (1 to MAX_TOP_CREATORS)
+     */
+    List<CreatorStats> getTopCreators(int limit) throws DatabaseOperationException;
+}
@@ -0,0 +1,54 @@
+package org.example.musiclibrary.service;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+import org.example.musiclibrary.model.CreatorStats;
+import org.example.musiclibrary.model.GroupStats;
+import org.example.musiclibrary.model.LibraryStats;
+import org.example.musiclibrary.repository.StatisticsRepository;
+
+import java.util.List;
+
+/**
+ * Implementation of StatisticsService.
+ * Follows SRP: Single responsibility is validating and delegating reporting requests.
+ * Follows DIP: Depends on StatisticsRepository interface, not implementation.
+ */
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private final StatisticsRepository statisticsRepository;
+
+    /**
+     * Constructor injection demonstrating DIP
+     */
+    public StatisticsServiceImpl(StatisticsRepository statisticsRepository) {
+        this.statisticsRepository = statisticsRepository;
+    }
+
+    @Override
+    public LibraryStats getLibraryStats() throws DatabaseOperationException {
+        return statisticsRepository.getLibraryStats();
+    }
+
+    @Override
+    public List<GroupStats> getCountsByType() throws DatabaseOperationException {
+        return statisticsRepository.countByType();
+    }
+
+    @Override
+    public List<GroupStats> getCountsByGenre() throws DatabaseOperationException {
+        return statisticsRepository.countByGenre();
+    }
+
+    @Override
+    public List<GroupStats> getCountsByCategory() throws DatabaseOperationException {
+        return statisticsRepository.countByCategory();
+    }
+
+    @Override
+    public List<CreatorStats> getTopCreators(int limit) throws DatabaseOperationException {
+        if (limit <= 0 || limit > MAX_TOP_CREATORS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_TOP_CREATORS);
+        }
+        return statisticsRepository.topCreators(limit);
+    }
+}
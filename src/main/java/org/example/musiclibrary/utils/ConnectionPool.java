@@ -0,0 +1,357 @@
+package org.example.musiclibrary.utils;
+
+import org.example.musiclibrary.exception.DatabaseOperationException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool.
+ * Follows SRP: Single responsibility is managing the lifecycle of physical connections.
+ *
+ * Connections handed out by {@link #borrow()} are proxies: calling close() returns the
+ * physical connection to the pool instead of closing it, so repositories keep using
+ * try-with-resources unchanged.
+ *
+ * Features:
+ * - bounded size with fair (FIFO) waiting for a free slot
+ * - validation on borrow (Connection.isValid)
+ * - idle eviction and max lifetime, enforced on borrow/return and by a background sweeper
+ * - a per-connection {@link StatementCache} for prepareStatement(sql) calls
+ */
+public final class ConnectionPool {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long borrowTimeoutMillis;
+    private final int statementCacheSize;
+
+    // Fair semaphore: one permit per connection slot, waiters are served in arrival order
+    private final Semaphore permits;
+    // Idle connections, most recently returned first (keeps hot connections warm)
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final ScheduledExecutorService sweeper;
+
+    // Statement cache counters, shared by the caches of all connections
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String url, String user, String password, int maxSize,
+                          long idleTimeoutMillis, long maxLifetimeMillis, long borrowTimeoutMillis,
+                          int statementCacheSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be greater than 0");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 2);
+        sweeper.scheduleAtFixedRate(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the borrow timeout for a free slot.
+     * The returned connection goes back to the pool when closed.
+     */
+    public Connection borrow() throws DatabaseOperationException {
+        if (closed) {
+            throw new DatabaseOperationException("Connection pool is closed", null);
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new DatabaseOperationException(
+                        "Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseOperationException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = openPhysical();
+            }
+            pooled.lastUsedAt = System.currentTimeMillis();
+            return pooled.newHandle();
+        } catch (SQLException e) {
+            permits.release();
+            throw new DatabaseOperationException("Failed to connect to database", e);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Close all idle connections and reject further borrows.
+     * Connections currently in use are closed when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        sweeper.shutdownNow();
+
+        List<PooledConnection> toClose;
+        synchronized (idle) {
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        toClose.forEach(this::closePhysical);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public int getIdleConnections() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public int getActiveConnections() {
+        return maxSize - permits.availablePermits();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions.sum();
+    }
+
+    /**
+     * Remove idle connections that exceeded the idle timeout or max lifetime
+     */
+    void evictExpired() {
+        List<PooledConnection> expired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (idle) {
+            idle.removeIf(pooled -> {
+                if (isExpired(pooled, now)) {
+                    expired.add(pooled);
+                    return true;
+                }
+                return false;
+            });
+        }
+        expired.forEach(this::closePhysical);
+    }
+
+    private PooledConnection takeValidIdle() {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+            if (!isExpired(pooled, System.currentTimeMillis()) && isValid(pooled)) {
+                return pooled;
+            }
+            closePhysical(pooled);
+        }
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        openConnections.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            boolean reusable = !closed && !isExpired(pooled, System.currentTimeMillis()) && resetState(pooled);
+            if (reusable) {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.addFirst(pooled);
+                }
+            } else {
+                closePhysical(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Undo per-borrow state so the next borrower gets a clean connection
+     */
+    private boolean resetState(PooledConnection pooled) {
+        try {
+            Connection physical = pooled.physical;
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return now - pooled.createdAt >= maxLifetimeMillis
+                || now - pooled.lastUsedAt >= idleTimeoutMillis;
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closePhysical(PooledConnection pooled) {
+        try {
+            pooled.statements.closeAll();
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        } finally {
+            openConnections.decrementAndGet();
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statements;
+        private final long createdAt;
+        private volatile long lastUsedAt;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical, statementCacheSize,
+                    statementCacheHits, statementCacheMisses, statementCacheEvictions);
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsedAt = createdAt;
+        }
+
+        /**
+         * Create a borrower-facing proxy; each borrow gets its own handle so a stale
+         * handle closed twice cannot return the connection to the pool twice
+         */
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * Intercepts close() to return the connection to the pool; everything else is delegated
+     */
+    private final class Handle implements InvocationHandler {
+        private PooledConnection pooled;
+
+        private Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            switch (name) {
+                case "close" -> {
+                    PooledConnection current;
+                    synchronized (this) {
+                        current = pooled;
+                        pooled = null;
+                    }
+                    if (current != null) {
+                        release(current);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return pooled == null || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + (pooled != null ? pooled.physical : "closed") + "]";
+                }
+                default -> {
+                    PooledConnection current = pooled;
+                    if (current == null) {
+                        throw new SQLException("Connection has been returned to the pool");
+                    }
+                    if (statementCacheSize > 0 && StatementCache.isCacheable(method, args)) {
+                        return current.statements.prepare((Connection) proxy, (String) args[0],
+                                StatementCache.generatedKeysFlag(args));
+                    }
+                    try {
+                        return method.invoke(current.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
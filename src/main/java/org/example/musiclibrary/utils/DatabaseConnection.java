@@ -4,43 +4,55 @@ import org.example.musiclibrary.exception.DatabaseOperationException;
 import java.sql.*;
 
 /**
- * DatabaseConnection manages the SQLite database connection.
+ * DatabaseConnection manages access to the PostgreSQL database.
  * Follows SRP: Single responsibility is managing database connections.
- * Uses DriverManager (as per requirements).
+ * Physical connections are opened via DriverManager and kept in a {@link ConnectionPool}.
  */
 public class DatabaseConnection {
 
     private static final String URL = "jdbc:postgresql://localhost:5432/musiclibrary";
     private static final String USER = "postgres";
     private static final String PASSWORD = "1234";
-    private static Connection connection = null;
+
+    // Pool settings
+    private static final int POOL_SIZE = 10;
+    private static final long IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+    private static final long MAX_LIFETIME_MILLIS = 30 * 60 * 1000L;
+    private static final long BORROW_TIMEOUT_MILLIS = 30 * 1000L;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private static ConnectionPool pool = null;
 
     /**
-     * Get database connection (singleton pattern)
+     * Borrow a connection from the pool (pool is created lazily, singleton pattern).
+     * Closing the returned connection gives it back to the pool.
      */
     public static Connection getConnection() throws DatabaseOperationException {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
-                System.out.println("✓ Database connection established");
-            }
-            return connection;
-        } catch (SQLException e) {
-            throw new DatabaseOperationException("Failed to connect to database", e);
+        return getPool().borrow();
+    }
+
+    /**
+     * Get the shared connection pool
+     */
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            pool = new ConnectionPool(URL, USER, PASSWORD, POOL_SIZE,
+                    IDLE_TIMEOUT_MILLIS, MAX_LIFETIME_MILLIS, BORROW_TIMEOUT_MILLIS, STATEMENT_CACHE_SIZE);
+            System.out.println("✓ Database connection pool initialized (max " + POOL_SIZE + " connections)");
         }
+        return pool;
     }
 
     /**
-     * Close database connection
+     * Shut down the connection pool and close all physical connections
      */
-    public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✓ Database connection closed");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error closing connection: " + e.getMessage());
+    public static synchronized void closeConnection() {
+        if (pool != null) {
+            System.out.printf("✓ Statement cache: %d hits, %d misses, %d evictions%n",
+                    pool.getStatementCacheHits(), pool.getStatementCacheMisses(), pool.getStatementCacheEvictions());
+            pool.shutdown();
+            pool = null;
+            System.out.println("✓ Database connection pool closed");
         }
     }
 
@@ -103,7 +103,8 @@ public class SortingUtils {
     }
 
     /**
-     * Get total duration using lambda reduce
+     * Get total duration using lambda reduce.
+     * For the whole library use StatisticsService, which aggregates in SQL.
      */
     public static int getTotalDuration(List<Media> mediaList) {
         return mediaList.stream()
@@ -112,7 +113,8 @@ public class SortingUtils {
     }
 
     /**
-     * Count media by type using lambda
+     * Count media by type using lambda.
+     * For the whole library use StatisticsService, which aggregates in SQL.
      */
     public static long countByType(List<Media> mediaList, Media.MediaType type) {
         return mediaList.stream()
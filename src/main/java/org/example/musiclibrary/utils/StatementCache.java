@@ -0,0 +1,230 @@
+package org.example.musiclibrary.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of PreparedStatements for a single physical connection, keyed by SQL text.
+ * Follows SRP: Single responsibility is reusing prepared statements.
+ *
+ * Statements handed out are proxies: close() keeps the real statement open and returns it
+ * to the cache, so repository code can keep using try-with-resources. Reusing the same
+ * statement object lets the PostgreSQL driver switch to a server-side prepared statement
+ * (after its prepareThreshold), skipping parse/plan on the hot paths.
+ */
+public class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    public StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        // accessOrder = true turns the map into an LRU
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    StatementCache.this.evictions.increment();
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a prepared statement for the SQL, reusing a cached one when it is free.
+     * @param owner The connection handle the statement should report as its connection
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     */
+    public synchronized PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            cached.inUse = true;
+            return cached.newHandle(owner);
+        }
+
+        misses.increment();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+
+        // Same SQL already checked out on this connection (nested use): hand out an uncached statement
+        if (cached != null) {
+            return statement;
+        }
+
+        cached = new CachedStatement(statement);
+        cached.inUse = true;
+        statements.put(key, cached);
+        return cached.newHandle(owner);
+    }
+
+    /**
+     * Close every cached statement (called when the physical connection is closed)
+     */
+    public synchronized void closeAll() {
+        List<CachedStatement> all = new ArrayList<>(statements.values());
+        statements.clear();
+        all.forEach(CachedStatement::evict);
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * A cached physical statement plus its checkout state
+     */
+    private final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement newHandle(Connection owner) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new Handle(this, owner));
+        }
+
+        /**
+         * Give the statement back to the cache, resetting per-use state
+         */
+        private void checkIn() {
+            synchronized (StatementCache.this) {
+                inUse = false;
+                if (evicted) {
+                    closeQuietly();
+                    return;
+                }
+                try {
+                    statement.clearParameters();
+                    statement.clearBatch();
+                    statement.clearWarnings();
+                    statement.setFetchSize(0);
+                    statement.setMaxRows(0);
+                } catch (SQLException e) {
+                    // Statement is unusable; drop it from the cache
+                    evicted = true;
+                    statements.values().remove(this);
+                    closeQuietly();
+                }
+            }
+        }
+
+        /**
+         * Remove from service; closed now if idle, otherwise when checked in
+         */
+        private void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing cached PreparedStatement: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Intercepts close() to check the statement back in; everything else is delegated
+     */
+    private static final class Handle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection owner;
+        private boolean closed;
+
+        private Handle(CachedStatement cached, Connection owner) {
+            this.cached = cached;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        cached.checkIn();
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed;
+                }
+                case "getConnection" -> {
+                    return owner;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "CachedStatement[" + cached.statement + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("PreparedStatement has been closed");
+                    }
+                    try {
+                        return method.invoke(cached.statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether a prepareStatement call is one the cache understands
+     */
+    static boolean isCacheable(Method method, Object[] args) {
+        if (!"prepareStatement".equals(method.getName()) || args == null || !(args[0] instanceof String)) {
+            return false;
+        }
+        return args.length == 1
+                || (args.length == 2 && method.getParameterTypes()[1] == int.class);
+    }
+
+    /**
+     * Resolve the autoGeneratedKeys flag from prepareStatement arguments
+     */
+    static int generatedKeysFlag(Object[] args) {
+        return args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+    }
+}
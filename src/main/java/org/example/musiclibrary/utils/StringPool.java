@@ -0,0 +1,144 @@
+package org.example.musiclibrary.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe pool that deduplicates equal strings (like String.intern, but on the heap
+ * and with a size limit). Intended for low-cardinality column values such as creators and genres,
+ * so millions of mapped rows share a few thousand String instances.
+ * Follows SRP: Single responsibility is canonicalizing strings.
+ *
+ * Once full, new values are returned as-is instead of evicting (low-cardinality values fill the
+ * pool early and stay hot), so use one pool per column: a high-cardinality column sharing the
+ * pool would fill it first. Values longer than the length limit are never pooled.
+ */
+public class StringPool {
+
+    private final String name;
+    private final int maxEntries;
+    private final int maxLength;
+    private final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * @param name Label used in the statistics (e.g. the column name)
+     * @param maxEntries Maximum number of distinct strings kept
+     * @param maxLength Longest string that is pooled
+     */
+    public StringPool(String name, int maxEntries, int maxLength) {
+        if (maxEntries <= 0 || maxLength <= 0) {
+            throw new IllegalArgumentException("Pool limits must be greater than 0");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Return the pooled instance equal to value (pooling it if there is room); null stays null
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        lookups.increment();
+
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            recordHit(pooled, value);
+            return pooled;
+        }
+
+        if (size.get() >= maxEntries) {
+            return value;
+        }
+        pooled = pool.putIfAbsent(value, value);
+        if (pooled != null) {
+            // Another thread pooled it first
+            recordHit(pooled, value);
+            return pooled;
+        }
+        size.incrementAndGet();
+        return value;
+    }
+
+    public Stats getStats() {
+        return new Stats(name, size.get(), lookups.sum(), hits.sum(), bytesSaved.sum());
+    }
+
+    /**
+     * Count a hit as a deduplication only if the caller's copy is a different instance
+     * (re-interning the pooled instance itself saves nothing)
+     */
+    private void recordHit(String pooled, String value) {
+        if (pooled != value) {
+            hits.increment();
+            bytesSaved.add(estimatedSize(value));
+        }
+    }
+
+    /**
+     * Approximate heap of a String: object header and fields, byte[] header, one byte per
+     * Latin-1 char (compact strings), rounded up to 8-byte alignment
+     */
+    private static long estimatedSize(String value) {
+        return 24 + ((16 + value.length() + 7) & ~7L);
+    }
+
+    /**
+     * Pool size and deduplication statistics
+     */
+    public static final class Stats {
+        private final String name;
+        private final int entries;
+        private final long lookups;
+        private final long hits;
+        private final long estimatedBytesSaved;
+
+        private Stats(String name, int entries, long lookups, long hits, long estimatedBytesSaved) {
+            this.name = name;
+            this.entries = entries;
+            this.lookups = lookups;
+            this.hits = hits;
+            this.estimatedBytesSaved = estimatedBytesSaved;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public long getLookups() {
+            return lookups;
+        }
+
+        /**
+         * Lookups that replaced a separate copy with the pooled instance (each one a String not retained)
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Approximate heap not retained thanks to deduplication, for objects that are kept
+         */
+        public long getEstimatedBytesSaved() {
+            return estimatedBytesSaved;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StringPool %s: %d entries, %d lookups, %d deduplicated (%.1f%%), ~%d KB saved",
+                    name, entries, lookups, hits, lookups == 0 ? 0.0 : 100.0 * hits / lookups, estimatedBytesSaved / 1024);
+        }
+    }
+}
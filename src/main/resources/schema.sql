@@ -16,6 +16,17 @@ CREATE TABLE IF NOT EXISTS media (
                                     UNIQUE(name, type, creator)
     );
 
+-- Trigram operators/indexes for substring and fuzzy matching
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Full-text search document: name ranks highest, then creator, then album/host, then category
+ALTER TABLE media ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(creator, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(album, '') || ' ' || coalesce(host, '')), 'C') ||
+    setweight(to_tsvector('simple', coalesce(category, '')), 'D')
+) STORED;
+
 CREATE TABLE IF NOT EXISTS playlists (
                                          id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
                                          name TEXT NOT NULL UNIQUE,
@@ -84,5 +95,18 @@ INSERT INTO playlist_items (playlist_id, media_id, position) VALUES
 CREATE INDEX IF NOT EXISTS idx_media_type ON media(type);
 CREATE INDEX IF NOT EXISTS idx_media_creator ON media(creator);
 CREATE INDEX IF NOT EXISTS idx_media_name ON media(name);
+-- Keyset pagination: (name, id) > (?, ?) ORDER BY name, id
+CREATE INDEX IF NOT EXISTS idx_media_name_id ON media(name, id);
+CREATE INDEX IF NOT EXISTS idx_media_type_name_id ON media(type, name, id);
+CREATE INDEX IF NOT EXISTS idx_media_search ON media USING GIN (search_vector);
+-- Case-insensitive lookups: findByCreator (+ paging by name), existsByNameAndTypeAndCreator
+CREATE INDEX IF NOT EXISTS idx_media_lower_creator ON media(LOWER(creator), name, id);
+CREATE INDEX IF NOT EXISTS idx_media_lower_key ON media(LOWER(name), type, LOWER(creator));
+-- Substring (ILIKE '%kw%') and similarity (%) searches
+CREATE INDEX IF NOT EXISTS idx_media_name_trgm ON media USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_media_creator_trgm ON media USING GIN (creator gin_trgm_ops);
+-- Case-insensitive unique playlist names: detects duplicate creates/renames and serves existsByName
+DROP INDEX IF EXISTS idx_playlists_lower_name;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_playlists_lower_name ON playlists(LOWER(name));
 CREATE INDEX IF NOT EXISTS idx_playlist_items_playlist ON playlist_items(playlist_id);
 CREATE INDEX IF NOT EXISTS idx_playlist_items_media ON playlist_items(media_id);
\ No newline at end of file